@@ -0,0 +1,122 @@
+package com.example.FYP.Api.Benchmark;
+
+import com.example.FYP.Api.Model.RenderedFeed;
+import com.example.FYP.Api.Model.View.FixtureViewDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of answering /fixtures/public once the feed is cached. Before the feed was kept as
+ * bytes, every request serialized the cached DTO list (and gzipped it when the client
+ * accepted gzip); now a hit writes the pre-rendered bytes and only a miss renders.
+ * Add {@code -prof gc} to compare allocation per request as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FixtureFeedBenchmark {
+
+    private static final String ETAG = "\"public-2026-10-18-1\"";
+
+    @Param({"200", "1000"})
+    public int fixtures;
+
+    private ObjectMapper mapper;
+    private List<FixtureViewDTO> dtos;
+    private RenderedFeed feed;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper();
+        dtos = new ArrayList<>(fixtures);
+        List<String> documents = FixtureSamples.rawJson(fixtures);
+        for (int i = 0; i < documents.size(); i++) {
+            dtos.add(new FixtureViewDTO(
+                    1_000_000L + i,
+                    mapper.readTree(documents.get(i)),
+                    (long) (i % 25),
+                    new FixtureViewDTO.MatchPredictionSettingsView(true, true, true, true, true, true, false),
+                    new FixtureViewDTO.MatchSettingsView(false, true, true)));
+        }
+        feed = RenderedFeed.render(mapper, dtos, ETAG);
+    }
+
+    @Benchmark
+    public long serializePerRequest() throws IOException {
+        CountingSink sink = new CountingSink();
+        mapper.writeValue(sink, dtos);
+        return sink.count;
+    }
+
+    @Benchmark
+    public long serializeAndGzipPerRequest() throws IOException {
+        CountingSink sink = new CountingSink();
+        mapper.writeValue(new GZIPOutputStream(sink), dtos);
+        return sink.count;
+    }
+
+    @Benchmark
+    public long writeCachedJson() throws IOException {
+        CountingSink sink = new CountingSink();
+        sink.write(feed.getJson());
+        return sink.count;
+    }
+
+    @Benchmark
+    public long writeCachedGzip() throws IOException {
+        CountingSink sink = new CountingSink();
+        sink.write(feed.getGzipped());
+        return sink.count;
+    }
+
+    @Benchmark
+    public RenderedFeed renderOnCacheMiss() {
+        return RenderedFeed.render(mapper, dtos, ETAG);
+    }
+
+    /**
+     * Stands in for the servlet response stream: copies through an 8 KB buffer, as the
+     * connector's output buffer does, and keeps a byte count so the writes stay live.
+     */
+    static final class CountingSink extends OutputStream {
+
+        private final byte[] buffer = new byte[8192];
+        long count;
+
+        @Override
+        public void write(int b) {
+            buffer[(int) (count++ % buffer.length)] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            while (length > 0) {
+                int chunk = Math.min(length, buffer.length);
+                System.arraycopy(bytes, offset, buffer, 0, chunk);
+                offset += chunk;
+                length -= chunk;
+                count += chunk;
+            }
+        }
+    }
+}
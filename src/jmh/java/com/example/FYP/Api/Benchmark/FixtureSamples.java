@@ -0,0 +1,55 @@
+package com.example.FYP.Api.Benchmark;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic fixture documents shaped like api-sports /fixtures items, so the benchmarks
+ * parse and serialize trees of the same size and depth as the stored rawJson.
+ */
+final class FixtureSamples {
+
+    private static final OffsetDateTime FIRST_KICKOFF = OffsetDateTime.of(2026, 10, 17, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private FixtureSamples() {
+    }
+
+    static List<String> rawJson(int count) {
+        List<String> documents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            documents.add(rawJson(1_000_000L + i, i));
+        }
+        return documents;
+    }
+
+    static String rawJson(long fixtureId, int index) {
+        long homeId = 100 + index % 40;
+        long awayId = 200 + index % 40;
+        int homeGoals = index % 4;
+        int awayGoals = index % 3;
+        String kickoff = FIRST_KICKOFF.plusMinutes(15L * index).toString();
+
+        return "{"
+                + "\"fixture\":{\"id\":" + fixtureId + ",\"referee\":\"A. Referee, England\","
+                + "\"timezone\":\"UTC\",\"date\":\"" + kickoff + "\",\"timestamp\":" + (1_792_000_000L + 900L * index) + ","
+                + "\"periods\":{\"first\":" + (1_792_000_000L + 900L * index) + ",\"second\":null},"
+                + "\"venue\":{\"id\":" + (500 + index % 40) + ",\"name\":\"Stadium " + index % 40 + "\",\"city\":\"City\"},"
+                + "\"status\":{\"long\":\"Match Finished\",\"short\":\"FT\",\"elapsed\":90,\"extra\":null}},"
+                + "\"league\":{\"id\":39,\"name\":\"Premier League\",\"country\":\"England\","
+                + "\"logo\":\"https://media.api-sports.io/football/leagues/39.png\","
+                + "\"flag\":\"https://media.api-sports.io/flags/gb-eng.svg\",\"season\":2026,"
+                + "\"round\":\"Regular Season - " + (index % 38 + 1) + "\",\"standings\":true},"
+                + "\"teams\":{"
+                + "\"home\":{\"id\":" + homeId + ",\"name\":\"Home Team " + homeId + "\","
+                + "\"logo\":\"https://media.api-sports.io/football/teams/" + homeId + ".png\",\"winner\":" + (homeGoals > awayGoals) + "},"
+                + "\"away\":{\"id\":" + awayId + ",\"name\":\"Away Team " + awayId + "\","
+                + "\"logo\":\"https://media.api-sports.io/football/teams/" + awayId + ".png\",\"winner\":" + (awayGoals > homeGoals) + "}},"
+                + "\"goals\":{\"home\":" + homeGoals + ",\"away\":" + awayGoals + "},"
+                + "\"score\":{\"halftime\":{\"home\":" + homeGoals / 2 + ",\"away\":" + awayGoals / 2 + "},"
+                + "\"fulltime\":{\"home\":" + homeGoals + ",\"away\":" + awayGoals + "},"
+                + "\"extratime\":{\"home\":null,\"away\":null},\"penalty\":{\"home\":null,\"away\":null}}"
+                + "}";
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.FYP.Api.Benchmark;
+
+import com.example.FYP.Api.Entity.Fixture;
+import com.example.FYP.Api.Model.FixtureSnapshot;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU and allocation of the two paths that read fixture documents, before and after
+ * FixtureSnapshot. Each fixture entity used to carry its own ObjectMapper and re-parse
+ * rawJson in every getter; now the document is parsed once into a shared snapshot.
+ * Each benchmark starts from freshly loaded entities, as a request or job tick does.
+ * Add {@code -prof gc} to see bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FixtureSnapshotBenchmark {
+
+    /**
+     * Resolving one finished fixture's pending bets: goals and first scorer are read per bet.
+     */
+    @State(Scope.Benchmark)
+    public static class ResolveState {
+
+        @Param({"50", "500"})
+        public int bets;
+
+        String rawJson;
+
+        @Setup
+        public void setUp() {
+            rawJson = FixtureSamples.rawJson(1_000_000L, 7);
+        }
+    }
+
+    /**
+     * Building the public listing: filter and sort by kickoff, then map each fixture's document.
+     */
+    @State(Scope.Benchmark)
+    public static class ListingState {
+
+        @Param({"200", "1000"})
+        public int fixtures;
+
+        List<String> documents;
+
+        @Setup
+        public void setUp() {
+            documents = new ArrayList<>(FixtureSamples.rawJson(fixtures));
+            // Upstream pages are not in kickoff order, so the sort has work to do.
+            Collections.shuffle(documents, new Random(42));
+        }
+    }
+
+    @Benchmark
+    public void resolveRawJsonPerGetter(ResolveState state, Blackhole blackhole) throws IOException {
+        ObjectMapper perEntityMapper = new ObjectMapper();
+        for (int i = 0; i < state.bets; i++) {
+            blackhole.consume(LegacyReads.goals(perEntityMapper, state.rawJson));
+            blackhole.consume(LegacyReads.firstTeamToScore(perEntityMapper, state.rawJson));
+        }
+    }
+
+    @Benchmark
+    public void resolveSnapshot(ResolveState state, Blackhole blackhole) {
+        FixtureSnapshot snapshot = load(0, state.rawJson).getSnapshot();
+        for (int i = 0; i < state.bets; i++) {
+            blackhole.consume(snapshot.getGoals());
+            blackhole.consume(snapshot.getFirstTeamToScore());
+        }
+    }
+
+    @Benchmark
+    public List<JsonNode> listingRawJsonPerGetter(ListingState state) {
+        List<LegacyEntity> entities = new ArrayList<>(state.documents.size());
+        for (String document : state.documents) {
+            entities.add(new LegacyEntity(document));
+        }
+        return entities.stream()
+                .filter(entity -> entity.readDate() != null)
+                .sorted((first, second) -> first.readDate().compareTo(second.readDate()))
+                .map(LegacyEntity::readRoot)
+                .toList();
+    }
+
+    @Benchmark
+    public List<JsonNode> listingSnapshot(ListingState state) {
+        List<Fixture> entities = new ArrayList<>(state.documents.size());
+        for (int i = 0; i < state.documents.size(); i++) {
+            entities.add(load(i, state.documents.get(i)));
+        }
+        return entities.stream()
+                .filter(fixture -> fixture.getSnapshot().getKickoff() != null)
+                .sorted(Comparator.comparing((Fixture fixture) -> fixture.getSnapshot().getKickoff(),
+                        Comparator.nullsLast(Comparator.<Instant>naturalOrder())))
+                .map(fixture -> fixture.getSnapshot().getRoot())
+                .toList();
+    }
+
+    private static Fixture load(long id, String rawJson) {
+        Fixture fixture = Fixture.builder().id(id).build();
+        fixture.setRawJson(rawJson, false);
+        return fixture;
+    }
+
+    /**
+     * The entity as it was: its own mapper, and a parse on every read.
+     */
+    static final class LegacyEntity {
+
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final String rawJson;
+
+        LegacyEntity(String rawJson) {
+            this.rawJson = rawJson;
+        }
+
+        String readDate() {
+            try {
+                String date = objectMapper.readTree(rawJson).path("fixture").path("date").asText();
+                return date.isEmpty() ? null : date;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        JsonNode readRoot() {
+            try {
+                return objectMapper.readTree(rawJson);
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The removed Fixture getters that the resolver called once per bet.
+     */
+    static final class LegacyReads {
+
+        private LegacyReads() {
+        }
+
+        static Map<String, Integer> goals(ObjectMapper mapper, String rawJson) throws IOException {
+            JsonNode node = mapper.readTree(rawJson).path("goals");
+            if (node.isMissingNode() || node.isNull()) return null;
+            return Map.of("home", node.path("home").asInt(0), "away", node.path("away").asInt(0));
+        }
+
+        static String firstTeamToScore(ObjectMapper mapper, String rawJson) throws IOException {
+            JsonNode node = mapper.readTree(rawJson).path("score").path("halftime");
+            if (node.isMissingNode() || node.isNull()) return null;
+            if (node.path("home").asInt(0) > 0) return "HOME";
+            if (node.path("away").asInt(0) > 0) return "AWAY";
+            return null;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.FYP.Api.Configuration;
+
+import com.example.FYP.Api.Service.UpstreamRequestScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.ResponseErrorHandler;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * The one HTTP client used for every API-Football call: pooled keep-alive connections,
+ * explicit timeouts, transparent gzip and a timer per upstream endpoint.
+ */
+@Configuration
+public class FootballApiConfig {
+
+    @Value("${football.api.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${football.api.http.read-timeout:20s}")
+    private Duration readTimeout;
+
+    @Value("${football.api.http.pool-timeout:5s}")
+    private Duration poolTimeout;
+
+    @Value("${football.api.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${football.api.http.idle-timeout:30s}")
+    private Duration idleTimeout;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager footballConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                // Every call goes to the same host, so the route may use the whole pool.
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient footballHttpClient(PoolingHttpClientConnectionManager footballConnectionManager) {
+        return clientBuilder(footballConnectionManager).build();
+    }
+
+    /**
+     * Same pool, but bodies come back exactly as sent: no Accept-Encoding is added and gzip
+     * is not decoded, so the proxy can relay compressed bytes untouched.
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient footballPassthroughHttpClient(PoolingHttpClientConnectionManager footballConnectionManager) {
+        return clientBuilder(footballConnectionManager)
+                .disableContentCompression()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate footballRestTemplate(CloseableHttpClient footballHttpClient,
+                                            MeterRegistry meterRegistry,
+                                            UpstreamRequestScheduler scheduler) {
+        return restTemplate(footballHttpClient, meterRegistry, scheduler);
+    }
+
+    /**
+     * Never throws on upstream 4xx/5xx; the status is relayed to the proxy client as is.
+     */
+    @Bean
+    public RestTemplate footballPassthroughRestTemplate(CloseableHttpClient footballPassthroughHttpClient,
+                                                       MeterRegistry meterRegistry,
+                                                       UpstreamRequestScheduler scheduler) {
+        RestTemplate restTemplate = restTemplate(footballPassthroughHttpClient, meterRegistry, scheduler);
+        restTemplate.setErrorHandler(new ResponseErrorHandler() {
+            @Override
+            public boolean hasError(ClientHttpResponse response) {
+                return false;
+            }
+
+            @Override
+            public void handleError(ClientHttpResponse response) {
+            }
+        });
+        return restTemplate;
+    }
+
+    private HttpClientBuilder clientBuilder(PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                // Both clients share the pool, so neither may close it on shutdown.
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(poolTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .build())
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                .evictExpiredConnections();
+    }
+
+    private static RestTemplate restTemplate(CloseableHttpClient httpClient,
+                                             MeterRegistry meterRegistry,
+                                             UpstreamRequestScheduler scheduler) {
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+        restTemplate.getInterceptors().add(metricsInterceptor(meterRegistry));
+        restTemplate.getInterceptors().add((request, body, execution) -> {
+            ClientHttpResponse response = execution.execute(request, body);
+            scheduler.onResponse(response.getHeaders());
+            return response;
+        });
+        return restTemplate;
+    }
+
+    private static ClientHttpRequestInterceptor metricsInterceptor(MeterRegistry meterRegistry) {
+        return (request, body, execution) -> {
+            String endpoint = request.getURI().getPath().replaceFirst("^/", "");
+            long start = System.nanoTime();
+            String outcome = "ERROR";
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                outcome = String.valueOf(response.getStatusCode().value());
+                return response;
+            } finally {
+                Timer.builder("football.api.requests")
+                        .description("Calls to API-Football by endpoint")
+                        .tag("endpoint", endpoint)
+                        .tag("status", outcome)
+                        .register(meterRegistry)
+                        .record(Duration.ofNanos(System.nanoTime() - start));
+            }
+        };
+    }
+}
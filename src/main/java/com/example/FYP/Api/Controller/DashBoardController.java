@@ -6,6 +6,7 @@ import com.example.FYP.Api.Model.Filter.ActivityLogFilterDTO;
 import com.example.FYP.Api.Model.View.ActivityLogViewDTO;
 import com.example.FYP.Api.Model.View.LogViewDTO;
 import com.example.FYP.Api.Service.DashBoardService;
+import com.example.FYP.Api.Service.FootballApiCache;
 import com.example.FYP.Api.Util.PagedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,6 +17,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -34,6 +36,9 @@ public class  DashBoardController {
     @Autowired
     private DashBoardService dashboardService;
 
+    @Autowired
+    private FootballApiCache footballApiCache;
+
     //plot
     @Operation(summary = "retrieve dashboard's totalUsers",
             parameters = {
@@ -179,6 +184,22 @@ public class  DashBoardController {
         return ResponseEntity.ok(dashboardService.getDashboardStats(range));
     }
 
+    @Operation(summary = "purge cached Football-API responses",
+            parameters = {
+                    @Parameter(name = "Authorization",
+                            description = "Bearer token for authentication",
+                            required = true,
+                            in = ParameterIn.HEADER),
+                    @Parameter(name = "endpoint",
+                            description = "Upstream endpoint to purge, e.g. 'teams' or 'players/squads' (default: all)",
+                            required = false,
+                            in = ParameterIn.QUERY)
+            })
+    @DeleteMapping("/upstreamCache")
+    public ResponseEntity<?> purgeUpstreamCache(@RequestParam(required = false) String endpoint) {
+        return ResponseEntity.ok(footballApiCache.purge(endpoint));
+    }
+
 
 
 
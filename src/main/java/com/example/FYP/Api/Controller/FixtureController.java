@@ -1,20 +1,32 @@
 package com.example.FYP.Api.Controller;
 
 import com.example.FYP.Api.Loader.Annotation.Feature;
+import com.example.FYP.Api.Model.Filter.FixtureFilterDTO;
 import com.example.FYP.Api.Model.Patch.MatchPredictionSettingsPatchDTO;
 import com.example.FYP.Api.Model.Patch.MatchSettingsPatchDTO;
+import com.example.FYP.Api.Model.RenderedFeed;
 import com.example.FYP.Api.Model.View.FixtureViewDTO;
 import com.example.FYP.Api.Model.View.UserViewDTO;
 import com.example.FYP.Api.Service.FixtureService;
 import com.example.FYP.Api.Service.FixtureSyncService;
+import com.example.FYP.Api.Util.AcceptEncodingUtils;
+import com.example.FYP.Api.Util.CursorPagedResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -31,15 +43,56 @@ public class FixtureController {
     private final FixtureSyncService fixtureSyncService;
 
     @GetMapping("/all")
-    @Operation(summary = "Get all fixtures", description = "Returns all fixtures including those hidden from users")
-    public List<FixtureViewDTO> getAllFixtures() {
-        return fixtureService.getAllFixtures();
+    @Operation(summary = "Get all fixtures", description = "Returns all fixtures including those hidden from users. " +
+            "Supports If-None-Match; answers 304 when the listing has not changed")
+    public ResponseEntity<List<FixtureViewDTO>> getAllFixtures(WebRequest request) {
+        String eTag = fixtureService.getAllFixturesETag();
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(eTag)
+                .body(fixtureService.getAllFixtures());
     }
 
     @GetMapping("/public")
-    @Operation(summary = "Get public fixtures", description = "Returns fixtures that are visible and allowed for betting")
-    public List<FixtureViewDTO> getPublicFixtures() {
-        return fixtureService.getPublicFixtures();
+    @Operation(summary = "Get public fixtures", description = "Returns fixtures that are visible and allowed for betting. " +
+            "Supports If-None-Match; answers 304 when the feed has not changed")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = FixtureViewDTO.class))))
+    public ResponseEntity<byte[]> getPublicFixtures(WebRequest request) {
+        // The current ETag comes from the feed's data version alone, so a 304 touches neither the
+        // cache nor the database. A 200 sends the tag of the feed actually rendered. Each encoding
+        // gets its own strong ETag.
+        boolean gzip = AcceptEncodingUtils.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String currentETag = fixtureService.getPublicFixturesETag();
+        if (request.checkNotModified(gzip ? RenderedFeed.gzipETag(currentETag) : currentETag)) {
+            return null;
+        }
+
+        RenderedFeed feed = fixtureService.getPublicFixtures();
+        String eTag = gzip ? feed.getGzipETag() : feed.getETag();
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag(eTag);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(feed.getGzipped());
+        }
+        return response.body(feed.getJson());
+    }
+
+    @GetMapping
+    @Operation(summary = "Query fixtures",
+            description = "Returns one page of fixtures ordered by kickoff. Filters by date range, league, team, " +
+                    "status and (admins only) visibility. Pass nextCursor from the previous page as cursor to continue")
+    public ResponseEntity<CursorPagedResponse<FixtureViewDTO>> queryFixtures(FixtureFilterDTO filter,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(fixtureService.queryFixtures(filter, cursor, size));
     }
 
     @GetMapping("/{fixtureId}/settings")
@@ -1,23 +1,36 @@
 package com.example.FYP.Api.Controller;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.example.FYP.Api.Exception.ApiRequestException;
+import com.example.FYP.Api.Service.FootballProxyService;
+import com.example.FYP.Api.Util.AcceptEncodingUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/football")
+@RequiredArgsConstructor
+@Slf4j
 public class FootballController {
 
 
-    @Value("${football.api.key}")
-    private String apiKey;
+    private final FootballProxyService footballProxyService;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final List<String> RELAYED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LENGTH
+    );
 
     private static final List<String> ALLOWED_ENDPOINTS = List.of(
             "fixtures",
@@ -42,45 +55,76 @@ public class FootballController {
     @GetMapping("/{endpoint}")
     public ResponseEntity<String> forwardRequest(
             @PathVariable String endpoint,
-            @RequestParam Map<String, String> params
+            @RequestParam Map<String, String> params,
+            HttpServletRequest request,
+            HttpServletResponse response
     ) {
-        return forwardToFootballApi(endpoint, params);
+        return forwardToFootballApi(endpoint, params, request, response);
     }
 
     @GetMapping("/{endpoint}/{subEndpoint}")
     public ResponseEntity<String> forwardSubRequest(
             @PathVariable String endpoint,
             @PathVariable String subEndpoint,
-            @RequestParam Map<String, String> params
+            @RequestParam Map<String, String> params,
+            HttpServletRequest request,
+            HttpServletResponse response
     ) {
         String fullEndpoint = endpoint + "/" + subEndpoint;
-        return forwardToFootballApi(fullEndpoint, params);
+        return forwardToFootballApi(fullEndpoint, params, request, response);
     }
 
-    private ResponseEntity<String> forwardToFootballApi(String endpoint, Map<String, String> params) {
+    private ResponseEntity<String> forwardToFootballApi(String endpoint, Map<String, String> params,
+                                                        HttpServletRequest request, HttpServletResponse response) {
         if (!ALLOWED_ENDPOINTS.contains(endpoint)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body("{\"error\":\"Endpoint not allowed: " + endpoint + "\"}");
         }
 
-        String baseUrl = "https://v3.football.api-sports.io/" + endpoint;
-        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl);
-        params.forEach(builder::queryParam);
-        String targetUrl = builder.toUriString();
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("x-apisports-key", apiKey);
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
         try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                    targetUrl, HttpMethod.GET, entity, String.class
-            );
-            return ResponseEntity.status(response.getStatusCode()).body(response.getBody());
+            if (footballProxyService.isStreamed(endpoint)) {
+                boolean acceptGzip = AcceptEncodingUtils.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+                footballProxyService.stream(endpoint, params, acceptGzip, upstream -> relay(upstream, response));
+                // The body has already been written; nothing left for Spring to render.
+                return null;
+            }
+
+            ResponseEntity<String> proxied = footballProxyService.forward(endpoint, params);
+            return ResponseEntity.status(proxied.getStatusCode()).body(proxied.getBody());
+        } catch (ApiRequestException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body("{\"error\":\"" + e.getMessage() + "\"}");
         } catch (Exception e) {
+            if (response.isCommitted()) {
+                log.debug("Streaming {} aborted after the response was committed: {}", endpoint, e.getMessage());
+                return null;
+            }
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("{\"error\":\"Failed to fetch from Football API: " + e.getMessage() + "\"}");
         }
     }
 
+    /**
+     * Copies status, the headers that describe the body, and the body bytes themselves
+     * (compressed or not) from the upstream response to the client through a small fixed buffer.
+     */
+    private static Void relay(ClientHttpResponse upstream, HttpServletResponse response) throws IOException {
+        HttpHeaders headers = upstream.getHeaders();
+        response.setStatus(upstream.getStatusCode().value());
+        for (String name : RELAYED_HEADERS) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                response.setHeader(name, value);
+            }
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        try (InputStream body = upstream.getBody()) {
+            OutputStream out = response.getOutputStream();
+            body.transferTo(out);
+            out.flush();
+        }
+        return null;
+    }
+
 }
@@ -19,6 +19,17 @@ public class TeamController {
 
     private final TeamService teamService;
 
+    @Operation(summary = "Get full team page", description = "Returns header, details, last match, squad, trophies and, " +
+            "when a league is given, statistics in one call. Sections that fail or time out are null and listed in missingSections")
+    @GetMapping("/{id}/page")
+    public ResponseEntity<TeamPageDTO> getTeamPage(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long league,
+            @RequestParam(required = false) Integer season
+    ) {
+        return ResponseEntity.ok(teamService.getTeamPage(id, league, season));
+    }
+
     @Operation(summary = "Get team header information", description = "Returns basic team information including name, logo, country, stadium, coach, etc.")
     @GetMapping("/{id}/header")
     public ResponseEntity<TeamHeaderDTO> getTeamHeader(@PathVariable Long id) {
@@ -78,8 +78,7 @@ public class UserController {
     @PostMapping("/setPoints")
     public ResponseEntity<?> points(@RequestParam Long points) {
         User user = securityContext.getCurrentUser();
-        user.setPoints(points);
-        userRepository.save(user);
+        userRepository.setPoints(user.getId(), points);
         return ResponseEntity.ok().build();
 
     }
@@ -0,0 +1,21 @@
+package com.example.FYP.Api.Converter;
+
+import com.example.FYP.Api.Model.CompressedJson;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter
+public class CompressedJsonConverter implements AttributeConverter<CompressedJson, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(CompressedJson attribute) {
+        if (attribute == null) return null;
+        return attribute.getBytes();
+    }
+
+    @Override
+    public CompressedJson convertToEntityAttribute(byte[] dbData) {
+        if (dbData == null) return null;
+        return CompressedJson.fromBytes(dbData);
+    }
+}
@@ -68,8 +68,7 @@ public class DataInitializer {
 
     private void setUserPoints(String email, Long points) {
         userRepository.findByEmail(email.toLowerCase()).ifPresent(user -> {
-            user.setPoints(points);
-            userRepository.save(user);
+            userRepository.setPoints(user.getId(), points);
             log.info("Set {} points for user: {}", points, email);
         });
     }
@@ -10,6 +10,11 @@ import java.math.BigDecimal;
 
 @Builder
 @Entity
+@Table(name = "bet", indexes = {
+        @Index(name = "idx_bet_status_fixture", columnList = "status, fixture_id"),
+        @Index(name = "idx_bet_ticket", columnList = "ticket_id"),
+        @Index(name = "idx_bet_last_modified", columnList = "last_modified_date")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -1,38 +1,97 @@
 package com.example.FYP.Api.Entity;
 
+import com.example.FYP.Api.Converter.CompressedJsonConverter;
+import com.example.FYP.Api.Model.CompressedJson;
+import com.example.FYP.Api.Model.FixtureSnapshot;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.*;
 import lombok.*;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.data.domain.Persistable;
 
-import java.io.IOException;
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 @Entity
-@Table(name = "fixtures")
+@Table(name = "fixtures", indexes = {
+        @Index(name = "idx_fixtures_status_kickoff", columnList = "status_short, kickoff_at"),
+        @Index(name = "idx_fixtures_kickoff", columnList = "kickoff_at"),
+        @Index(name = "idx_fixtures_league_kickoff", columnList = "league_id, kickoff_at"),
+        @Index(name = "idx_fixtures_home_team", columnList = "home_team_id, status_short, kickoff_at"),
+        @Index(name = "idx_fixtures_away_team", columnList = "away_team_id, status_short, kickoff_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Fixture extends AuditableEntity{
+public class Fixture extends AuditableEntity implements Persistable<Long> {
 
     @Id
     private Long id;
 
+    /*
+     * Holds the document as plain text, or an empty string when it is stored
+     * deflated in rawJsonDeflated instead. Read it through getRawJson().
+     */
     @Lob
     @Column(columnDefinition = "TEXT", nullable = false)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
     private String rawJson;
 
+    @Convert(converter = CompressedJsonConverter.class)
+    @Column(name = "raw_json_deflated", columnDefinition = "MEDIUMBLOB")
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private CompressedJson rawJsonDeflated;
+
+    @Column(name = "raw_json_hash", length = 64)
+    private String rawJsonHash;
+
+    /*
+     * Columns materialized from rawJson on every write so status / date / team
+     * lookups can use indexes instead of scanning the JSON text.
+     */
+    @Column(name = "status_short", length = 10)
+    private String statusShort;
+
+    @Column(name = "kickoff_at")
+    private Instant kickoffAt;
+
+    @Column(name = "league_id")
+    private Long leagueId;
+
+    @Column(name = "home_team_id")
+    private Long homeTeamId;
+
+    @Column(name = "away_team_id")
+    private Long awayTeamId;
+
+    @Column(name = "home_goals")
+    private Integer homeGoals;
+
+    @Column(name = "away_goals")
+    private Integer awayGoals;
 
     @EqualsAndHashCode.Exclude
-    @OneToMany(mappedBy = "fixture", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @ToString.Exclude
+    @OneToMany(mappedBy = "fixture", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Bet> betsSet = new HashSet<>();
 
+    /*
+     * Maintained by FixtureRepository.incrementBetCount at placement time. Not updatable
+     * through the entity so a concurrent fixture write can never overwrite an increment.
+     */
+    @Column(name = "bet_count", nullable = false, updatable = false, columnDefinition = "bigint default 0")
+    @Builder.Default
+    private Long betCount = 0L;
+
 
     public Long getBets() {
-        return (long) betsSet.size();
+        return betCount != null ? betCount : 0L;
     }
 
     @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
@@ -44,91 +103,143 @@ public class Fixture extends AuditableEntity{
     private MatchSettings matchSettings;
 
     @Transient
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private transient FixtureSnapshot snapshot;
 
-    public Map<String, Integer> getGoals() {
-        try {
-            JsonNode node = objectMapper.readTree(rawJson).path("goals");
-            if (node.isMissingNode() || node.isNull()) return null;
-            return Map.of(
-                    "home", node.path("home").asInt(0),
-                    "away", node.path("away").asInt(0)
-            );
-        } catch (IOException e) {
-            return null;
+    /*
+     * Ids are assigned from upstream, so Spring Data cannot tell new rows from
+     * existing ones by id alone; tracking it here lets save() persist directly
+     * instead of issuing a SELECT through merge().
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        this.persisted = true;
+    }
+
+    /**
+     * Parsed view of rawJson, built lazily and reused until rawJson is replaced.
+     */
+    public FixtureSnapshot getSnapshot() {
+        FixtureSnapshot current = snapshot;
+        String source = getRawJson();
+        if (current == null || current.getSource() != source) {
+            current = FixtureSnapshot.parse(source);
+            snapshot = current;
         }
+        return current;
     }
 
-    public String getFirstTeamToScore() {
-        try {
-            JsonNode node = objectMapper.readTree(rawJson).path("score").path("halftime");
-            if (node.isMissingNode() || node.isNull()) return null;
-            int home = node.path("home").asInt(0);
-            int away = node.path("away").asInt(0);
-            if (home > 0) return "HOME";
-            if (away > 0) return "AWAY";
-            return null;
-        } catch (IOException e) {
-            return null;
+    /**
+     * The upstream document; inflated on first access when stored compressed.
+     */
+    public String getRawJson() {
+        return rawJsonDeflated != null ? rawJsonDeflated.getText() : rawJson;
+    }
+
+    /**
+     * Replaces the stored document, deflated or as plain text as the caller decides.
+     */
+    public void setRawJson(String rawJson, boolean compress) {
+        storeRawJson(rawJson, compress);
+        this.rawJsonHash = rawJson != null ? hashOf(rawJson) : null;
+        this.snapshot = null;
+    }
+
+    public boolean isRawJsonCompressed() {
+        return rawJsonDeflated != null;
+    }
+
+    public int getRawJsonDeflatedSize() {
+        return rawJsonDeflated != null ? rawJsonDeflated.getBytes().length : 0;
+    }
+
+    private void storeRawJson(String json, boolean compress) {
+        if (compress && json != null) {
+            this.rawJson = "";
+            this.rawJsonDeflated = CompressedJson.compress(json);
+        } else {
+            this.rawJson = json;
+            this.rawJsonDeflated = null;
         }
     }
 
+    /**
+     * Replaces the stored document and refreshes the indexed columns derived from it.
+     */
+    public void applyRawJson(JsonNode matchNode, boolean compress) {
+        applyRawJson(matchNode.toString(), matchNode, compress);
+    }
+
+    public void applyRawJson(String rawJson, JsonNode matchNode, boolean compress) {
+        storeRawJson(rawJson, compress);
+        this.rawJsonHash = hashOf(rawJson);
+        FixtureSnapshot current = FixtureSnapshot.of(rawJson, matchNode);
+        this.snapshot = current;
+
+        this.statusShort = current.getStatusShort();
+        this.kickoffAt = current.getKickoff();
+        this.leagueId = current.getLeagueId();
+        this.homeTeamId = current.getHomeTeamId();
+        this.awayTeamId = current.getAwayTeamId();
+        this.homeGoals = current.getHomeGoals();
+        this.awayGoals = current.getAwayGoals();
+    }
+
+    public static String hashOf(String rawJson) {
+        return DigestUtils.sha256Hex(rawJson);
+    }
+
+    public Map<String, Integer> getGoals() {
+        return getSnapshot().getGoals();
+    }
+
+    public String getFirstTeamToScore() {
+        return getSnapshot().getFirstTeamToScore();
+    }
+
     public String getHomeTeamName() {
-        return getString("teams.home.name");
+        return getSnapshot().getHomeTeamName();
     }
 
     public String getAwayTeamName() {
-        return getString("teams.away.name");
+        return getSnapshot().getAwayTeamName();
     }
 
     public String getStatusShort() {
-        return getString("fixture.status.short");
+        return statusShort != null ? statusShort : getSnapshot().getStatusShort();
     }
 
     public String getStatusLong() {
-        return getString("fixture.status.long");
+        return getSnapshot().getStatusLong();
     }
 
     public Long getExternalFixtureId() {
-        return getLong("fixture.id");
+        return getSnapshot().getExternalFixtureId();
     }
 
     public String getHomeTeamLogo() {
-        return getString("teams.home.logo");
+        return getSnapshot().getHomeTeamLogo();
     }
 
     public String getAwayTeamLogo() {
-        return getString("teams.away.logo");
+        return getSnapshot().getAwayTeamLogo();
     }
 
     public String getFixtureDate() {
-        return getString("fixture.date");
-    }
-
-    private String getString(String path) {
-        try {
-            JsonNode node = getNode(path);
-            return node.isMissingNode() || node.isNull() ? null : node.asText();
-        } catch (IOException e) {
-            return null;
-        }
-    }
-
-    private Long getLong(String path) {
-        try {
-            JsonNode node = getNode(path);
-            return node.isMissingNode() || node.isNull() ? null : node.asLong();
-        } catch (IOException e) {
-            return null;
-        }
-    }
-
-    private JsonNode getNode(String path) throws IOException {
-        JsonNode node = objectMapper.readTree(rawJson);
-        String[] parts = path.split("\\.");
-        for (String part : parts) {
-            node = node.path(part);
-        }
-        return node;
+        return getSnapshot().getFixtureDate();
     }
 }
@@ -0,0 +1,61 @@
+package com.example.FYP.Api.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Record of a ticket's payout. Keyed by ticket id, so a ticket can only ever be settled once:
+ * a second insert fails and rolls back the credit made with it.
+ */
+@Entity
+@Table(name = "ticket_settlement", indexes = {
+        @Index(name = "idx_ticket_settlement_user", columnList = "user_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketSettlement implements Persistable<String> {
+
+    @Id
+    @Column(name = "ticket_id")
+    private String ticketId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BetStatus status;
+
+    private Double stake;
+
+    @Column(precision = 19, scale = 6)
+    private BigDecimal totalOdds;
+
+    @Column(nullable = false)
+    private Long payout;
+
+    private LocalDateTime lastLegResolvedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime settledAt;
+
+    @Override
+    public String getId() {
+        return ticketId;
+    }
+
+    // Rows are only ever inserted; never let save() turn into a merge that checks for an existing row.
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
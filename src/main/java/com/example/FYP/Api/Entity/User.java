@@ -35,6 +35,9 @@ public class User extends AuditableEntity{
     @NotBlank
     private String username;
 
+    // Balances move only through UserRepository's UPDATE queries; a full-row save would write back
+    // the balance loaded at the start of the request over any payout credited since.
+    @Column(updatable = false)
     private Long points;
 
 
@@ -0,0 +1,9 @@
+package com.example.FYP.Api.Event;
+
+/**
+ * Published once a fixture's pending legs have been resolved, so the tickets
+ * they complete can be settled.
+ */
+public record BetsResolvedEvent(
+        Long fixtureId
+) {}
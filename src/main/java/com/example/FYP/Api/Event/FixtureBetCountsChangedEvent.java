@@ -0,0 +1,11 @@
+package com.example.FYP.Api.Event;
+
+import java.util.Set;
+
+/**
+ * Published when bets are placed; only the fixtures' bet counters changed,
+ * so the cached public feed is left alone.
+ */
+public record FixtureBetCountsChangedEvent(
+        Set<Long> fixtureIds
+) {}
@@ -0,0 +1,12 @@
+package com.example.FYP.Api.Event;
+
+import com.example.FYP.Api.Messaging.WebSocket.FixtureLiveUpdate;
+
+import java.util.List;
+
+/**
+ * Published by the resolve job with the latest live state of every fixture it polled.
+ */
+public record FixtureLiveUpdatesEvent(
+        List<FixtureLiveUpdate> updates
+) {}
@@ -0,0 +1,12 @@
+package com.example.FYP.Api.Event;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Published whenever fixture rows are written; carries the kickoff of every
+ * changed fixture so listeners can decide whether the change is visible to them.
+ */
+public record FixturesChangedEvent(
+        Map<Long, Instant> kickoffsById
+) {}
@@ -0,0 +1,54 @@
+package com.example.FYP.Api.Health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports whether the startup fixture warm-up has finished. Always UP: the API serves
+ * whatever is already stored while the warm-up fills in the upcoming days.
+ */
+@Component("fixtureWarmup")
+public class FixtureWarmupHealthIndicator implements HealthIndicator {
+
+    public enum State { COLD, WARMING, WARM }
+
+    private volatile State state = State.COLD;
+    private volatile int totalDays;
+    private final Set<String> syncedDays = ConcurrentHashMap.newKeySet();
+    private final Set<String> failedDays = ConcurrentHashMap.newKeySet();
+
+    public void started(int days) {
+        totalDays = days;
+        state = State.WARMING;
+    }
+
+    public void daySynced(String date) {
+        syncedDays.add(date);
+    }
+
+    public void dayFailed(String date) {
+        failedDays.add(date);
+    }
+
+    public void finished() {
+        state = State.WARM;
+    }
+
+    public boolean isWarm() {
+        return state == State.WARM;
+    }
+
+    @Override
+    public Health health() {
+        return Health.up()
+                .withDetail("state", state)
+                .withDetail("daysSynced", syncedDays.size())
+                .withDetail("daysFailed", failedDays)
+                .withDetail("daysTotal", totalDays)
+                .build();
+    }
+}
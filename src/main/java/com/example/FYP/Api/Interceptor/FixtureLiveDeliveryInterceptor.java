@@ -0,0 +1,69 @@
+package com.example.FYP.Api.Interceptor;
+
+import com.example.FYP.Api.Messaging.WebSocket.FixtureLivePublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+/**
+ * Counts fixture live messages on the client outbound channel, where the broker fans each
+ * update out to one message per subscriber. A message the channel refuses never reaches
+ * its subscriber. Sessions whose send buffer or send-time limit overflowed are closed
+ * with their queued messages, so they are tracked as a gauge beside the counter.
+ */
+@Component
+public class FixtureLiveDeliveryInterceptor implements ChannelInterceptor {
+
+    private final Counter queued;
+    private final Counter dropped;
+    private volatile SubProtocolWebSocketHandler sessionHandler;
+
+    public FixtureLiveDeliveryInterceptor(MeterRegistry meterRegistry) {
+        this.queued = Counter.builder("fixtures.live.deliveries")
+                .description("Fixture live messages fanned out to subscribers, by outbound channel result")
+                .tag("result", "queued")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("fixtures.live.deliveries")
+                .description("Fixture live messages fanned out to subscribers, by outbound channel result")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        Gauge.builder("websocket.sessions.limit-exceeded", this, FixtureLiveDeliveryInterceptor::limitExceededSessions)
+                .description("WebSocket sessions closed because their send buffer or send-time limit overflowed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Remembers the session handler so its overflow count can be read; see WebSocketConfig.
+     */
+    public WebSocketHandler bind(WebSocketHandler handler) {
+        if (handler instanceof SubProtocolWebSocketHandler subProtocolHandler) {
+            this.sessionHandler = subProtocolHandler;
+        }
+        return handler;
+    }
+
+    @Override
+    public void afterSendCompletion(Message<?> message, MessageChannel channel, boolean sent, Exception ex) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null || !destination.startsWith(FixtureLivePublisher.FIXTURE_TOPIC_PREFIX)) {
+            return;
+        }
+        if (sent && ex == null) {
+            queued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private double limitExceededSessions() {
+        SubProtocolWebSocketHandler handler = sessionHandler;
+        return handler != null ? handler.getStats().getLimitExceededSessions() : Double.NaN;
+    }
+}
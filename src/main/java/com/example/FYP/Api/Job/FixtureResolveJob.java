@@ -2,22 +2,45 @@ package com.example.FYP.Api.Job;
 
 import com.example.FYP.Api.Entity.Fixture;
 import com.example.FYP.Api.Entity.MatchSettings;
+import com.example.FYP.Api.Event.FixtureLiveUpdatesEvent;
+import com.example.FYP.Api.Event.FixturesChangedEvent;
+import com.example.FYP.Api.Messaging.WebSocket.FixtureLiveUpdate;
+import com.example.FYP.Api.Model.FixturePollTarget;
+import com.example.FYP.Api.Model.FixtureSnapshot;
 import com.example.FYP.Api.Repository.FixtureRepository;
 import com.example.FYP.Api.Service.BetResolverService;
+import com.example.FYP.Api.Service.FixturePollSchedule;
+import com.example.FYP.Api.Service.FixtureSyncService;
 import com.example.FYP.Api.Service.FootBallService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -28,14 +51,39 @@ public class FixtureResolveJob {
     private final BetResolverService betResolverService;
     private final FootBallService footBallService;
     private final ObjectMapper objectMapper;
-    
-    private static final Set<String> FINISHED_STATUSES = Set.of("FT", "AET", "PEN", "PST", "CANC", "ABD", "AWD", "WO");
+    private final ApplicationEventPublisher eventPublisher;
+    private final FixturePollSchedule pollSchedule;
+    private final FixtureSyncService fixtureSyncService;
 
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
 
-    @Scheduled(fixedDelay = 15000)
-    @CacheEvict(value = "publicFixtures", allEntries = true)
+    private static final int MAX_CHECKS_PER_TICK = 200;
+    private static final int LIVE_SNAPSHOT_THRESHOLD = FootBallService.MAX_IDS_PER_REQUEST;
+    private static final Duration RETRY_AFTER_FAILURE = Duration.ofMinutes(1);
+
+    private Counter liveSnapshotCalls;
+    private Counter idBatchCalls;
+    private TransactionTemplate applyTransaction;
+
+    @PostConstruct
+    void init() {
+        applyTransaction = new TransactionTemplate(transactionManager);
+        applyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        liveSnapshotCalls = Counter.builder("fixtures.resolve.upstream.calls")
+                .description("Upstream calls made by the fixture resolve job")
+                .tag("endpoint", "live")
+                .register(meterRegistry);
+        idBatchCalls = Counter.builder("fixtures.resolve.upstream.calls")
+                .description("Upstream calls made by the fixture resolve job")
+                .tag("endpoint", "ids")
+                .register(meterRegistry);
+    }
+
+
+    @Scheduled(fixedDelay = 60000)
     @Transactional
-    public void resolveFinishedFixtures() {
+    public void retryPendingBetResolutions() {
         try {
             List<Fixture> finishedWithPendingBets = fixtureRepository.findFinishedFixturesWithPendingBets();
             if (!finishedWithPendingBets.isEmpty()) {
@@ -49,83 +97,194 @@ public class FixtureResolveJob {
                     log.error("Failed to resolve bets for finished fixture {}: {}", fixture.getId(), e.getMessage(), e);
                 }
             }
+        } catch (Exception e) {
+            log.error("Pending bet resolution retry failed", e);
+        }
+    }
 
-            List<Fixture> unfinishedFixtures = fixtureRepository.findAllUnfinishedFixtures();
-            
-            if (unfinishedFixtures.isEmpty()) {
-                log.debug("No unfinished fixtures to check");
-                return;
-            }
-            
+    /**
+     * Adds unfinished fixtures kicking off within the next half hour to the poll schedule.
+     * Fixtures already scheduled keep their current due time.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void scheduleUpcomingFixtures() {
+        try {
             Instant now = Instant.now();
-            int checkedCount = 0;
-            int updatedCount = 0;
-            int finishedCount = 0;
-            
-            for (Fixture fixture : unfinishedFixtures) {
-                try {
-                    JsonNode currentJson = objectMapper.readTree(fixture.getRawJson());
-                    String dateStr = currentJson.path("fixture").path("date").asText();
-                    String currentStatus = currentJson.path("fixture").path("status").path("short").asText();
-                    
-                    if (dateStr == null || dateStr.isEmpty()) {
-                        continue;
-                    }
-                    
-                    Instant scheduledStart = Instant.parse(dateStr);
-                    if (now.isBefore(scheduledStart.minus(30, ChronoUnit.MINUTES))) {
-                        continue;
-                    }
-                    
-                    checkedCount++;
-                    
-                    String freshJson = footBallService.getFixtureById(fixture.getId());
-                    JsonNode root = objectMapper.readTree(freshJson);
-                    JsonNode response = root.path("response");
-                    
-                    if (response.isArray() && response.size() > 0) {
-                        JsonNode freshMatchNode = response.get(0);
-                        String freshStatus = freshMatchNode.path("fixture").path("status").path("short").asText();
-                        
-                        if (!currentStatus.equals(freshStatus)) {
-                            fixture.setRawJson(freshMatchNode.toString());
-                            
-                            if (FINISHED_STATUSES.contains(freshStatus)) {
-                                if (fixture.getMatchSettings() == null) {
-                                    fixture.setMatchSettings(MatchSettings.builder()
-                                            .allowBetting(false)
-                                            .allowBettingHT(false)
-                                            .showMatch(true)
-                                            .build());
-                                } else {
-                                    fixture.getMatchSettings().setAllowBetting(false);
-                                    fixture.getMatchSettings().setAllowBettingHT(false);
-                                }
-                                
-                                betResolverService.resolveBetsForFixture(fixture.getId());
-                                finishedCount++;
-                                log.info("Fixture {} finished ({} -> {}), betting disabled, bets resolved", 
-                                        fixture.getId(), currentStatus, freshStatus);
-                            } else {
-                                log.info("Fixture {} status changed: {} -> {}", 
-                                        fixture.getId(), currentStatus, freshStatus);
-                            }
-                            
-                            fixtureRepository.save(fixture);
-                            updatedCount++;
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to check fixture {}: {}", fixture.getId(), e.getMessage());
+            List<FixturePollTarget> targets = fixtureRepository
+                    .findPollTargetsStartingBefore(now.plus(30, ChronoUnit.MINUTES));
+
+            int added = 0;
+            for (FixturePollTarget target : targets) {
+                Instant dueAt = FixturePollSchedule.nextCheck(target.statusShort(), target.kickoffAt(), now);
+                if (dueAt != null && pollSchedule.scheduleIfAbsent(target.id(), dueAt)) {
+                    added++;
                 }
             }
-            
-            if (checkedCount > 0) {
-                log.debug("Resolve job: checked {}, updated {}, finished {}", 
-                        checkedCount, updatedCount, finishedCount);
+
+            if (added > 0) {
+                log.debug("Poll schedule: added {} fixtures, tracking {}", added, pollSchedule.size());
+            }
+        } catch (Exception e) {
+            log.error("Failed to refresh fixture poll schedule", e);
+        }
+    }
+
+    /**
+     * Checks the fixtures due on the poll schedule. The upstream documents are fetched first,
+     * outside any transaction, since each call may wait on the request scheduler; only the
+     * updates and bet resolution run in the tick's transaction.
+     */
+    @Scheduled(fixedDelay = 5000)
+    public void resolveDueFixtures() {
+        Instant now = Instant.now();
+        List<Long> dueIds = pollSchedule.pollDue(now, MAX_CHECKS_PER_TICK);
+        if (dueIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<FixturePollTarget> targets = fixtureRepository.findPollTargetsByIds(dueIds);
+            Set<Long> failedIds = new HashSet<>();
+            Map<Long, JsonNode> freshById = fetchFreshFixtures(targets, failedIds);
+
+            ResolveTick tick = applyTransaction.execute(tx -> applyFresh(dueIds, freshById, failedIds, now));
+
+            if (!tick.changedKickoffs().isEmpty()) {
+                eventPublisher.publishEvent(new FixturesChangedEvent(tick.changedKickoffs()));
+            }
+            if (!tick.liveUpdates().isEmpty()) {
+                eventPublisher.publishEvent(new FixtureLiveUpdatesEvent(tick.liveUpdates()));
             }
+
+            log.debug("Resolve job: checked {}, refreshed {}, updated {}, finished {}, {} fixtures scheduled",
+                    dueIds.size(), freshById.size(), tick.updatedCount(), tick.finishedCount(), pollSchedule.size());
         } catch (Exception e) {
+            // Put the batch back so a failed load does not drop fixtures from the schedule.
+            dueIds.forEach(id -> pollSchedule.scheduleIfAbsent(id, now.plus(RETRY_AFTER_FAILURE)));
             log.error("Fixture resolve job failed", e);
         }
     }
+
+    private record ResolveTick(Map<Long, Instant> changedKickoffs, List<FixtureLiveUpdate> liveUpdates,
+                               int updatedCount, int finishedCount) {}
+
+    private ResolveTick applyFresh(List<Long> dueIds, Map<Long, JsonNode> freshById, Set<Long> failedIds, Instant now) {
+        Map<Long, Fixture> fixturesById = fixtureRepository.findAllById(dueIds).stream()
+                .collect(Collectors.toMap(Fixture::getId, Function.identity()));
+
+        int updatedCount = 0;
+        int finishedCount = 0;
+        Map<Long, Instant> changedKickoffs = new HashMap<>();
+        List<FixtureLiveUpdate> liveUpdates = new ArrayList<>();
+
+        for (Long fixtureId : dueIds) {
+            Fixture fixture = fixturesById.get(fixtureId);
+            if (fixture == null) {
+                continue;
+            }
+
+            try {
+                String currentStatus = Objects.toString(fixture.getStatusShort(), "");
+
+                JsonNode freshMatchNode = freshById.get(fixtureId);
+                if (freshMatchNode == null) {
+                    pollSchedule.schedule(fixtureId, failedIds.contains(fixtureId)
+                            ? now.plus(RETRY_AFTER_FAILURE)
+                            : FixturePollSchedule.nextCheck(fixture.getStatusShort(), fixture.getKickoffAt(), now));
+                    continue;
+                }
+
+                FixtureSnapshot fresh = FixtureSnapshot.of(null, freshMatchNode);
+                String freshStatus = Objects.toString(fresh.getStatusShort(), "");
+                liveUpdates.add(FixtureLiveUpdate.of(fixture.getId(), fresh));
+
+                boolean scoreChanged = !Objects.equals(fixture.getHomeGoals(), fresh.getHomeGoals())
+                        || !Objects.equals(fixture.getAwayGoals(), fresh.getAwayGoals());
+
+                if (!currentStatus.equals(freshStatus) || scoreChanged) {
+                    fixture.applyRawJson(freshMatchNode, fixtureSyncService.isRawJsonCompression());
+
+                    if (FixturePollSchedule.FINISHED_STATUSES.contains(freshStatus)) {
+                        if (fixture.getMatchSettings() == null) {
+                            fixture.setMatchSettings(MatchSettings.builder()
+                                    .allowBetting(false)
+                                    .allowBettingHT(false)
+                                    .showMatch(true)
+                                    .build());
+                        } else {
+                            fixture.getMatchSettings().setAllowBetting(false);
+                            fixture.getMatchSettings().setAllowBettingHT(false);
+                        }
+
+                        betResolverService.resolveBetsForFixture(fixture.getId());
+                        finishedCount++;
+                        log.info("Fixture {} finished ({} -> {}), betting disabled, bets resolved",
+                                fixture.getId(), currentStatus, freshStatus);
+                    } else if (!currentStatus.equals(freshStatus)) {
+                        log.info("Fixture {} status changed: {} -> {}",
+                                fixture.getId(), currentStatus, freshStatus);
+                    } else {
+                        log.info("Fixture {} score changed: {}-{}",
+                                fixture.getId(), fresh.getHomeGoals(), fresh.getAwayGoals());
+                    }
+
+                    fixtureRepository.save(fixture);
+                    changedKickoffs.put(fixture.getId(), fixture.getKickoffAt());
+                    updatedCount++;
+                }
+
+                pollSchedule.schedule(fixtureId, FixturePollSchedule.nextCheck(
+                        fresh.getStatusShort(), fresh.getKickoff(), now));
+            } catch (Exception e) {
+                pollSchedule.schedule(fixtureId, now.plus(RETRY_AFTER_FAILURE));
+                log.warn("Failed to check fixture {}: {}", fixture.getId(), e.getMessage());
+            }
+        }
+        return new ResolveTick(changedKickoffs, liveUpdates, updatedCount, finishedCount);
+    }
+
+    /**
+     * Fetches the current upstream document of each fixture with as few calls as possible:
+     * one live snapshot when enough of them are in play, then id batches for the rest.
+     * Ids whose batch failed are added to {@code failedIds}.
+     */
+    private Map<Long, JsonNode> fetchFreshFixtures(Collection<FixturePollTarget> targets, Set<Long> failedIds) {
+        Set<Long> wanted = targets.stream().map(FixturePollTarget::id).collect(Collectors.toSet());
+        Map<Long, JsonNode> fresh = new HashMap<>();
+
+        long live = targets.stream().filter(target -> FixturePollSchedule.isLive(target.statusShort())).count();
+        if (live >= LIVE_SNAPSHOT_THRESHOLD) {
+            try {
+                liveSnapshotCalls.increment();
+                collectResponse(footBallService.getLiveFixtures(), wanted, fresh);
+            } catch (Exception e) {
+                log.warn("Failed to fetch live fixture snapshot, falling back to id batches: {}", e.getMessage());
+            }
+        }
+
+        List<Long> remaining = wanted.stream().filter(id -> !fresh.containsKey(id)).toList();
+        for (int from = 0; from < remaining.size(); from += FootBallService.MAX_IDS_PER_REQUEST) {
+            List<Long> batch = remaining.subList(from, Math.min(from + FootBallService.MAX_IDS_PER_REQUEST, remaining.size()));
+            try {
+                idBatchCalls.increment();
+                collectResponse(footBallService.getFixturesByIds(batch), wanted, fresh);
+            } catch (Exception e) {
+                failedIds.addAll(batch);
+                log.warn("Failed to fetch fixtures {}: {}", batch, e.getMessage());
+            }
+        }
+        return fresh;
+    }
+
+    private void collectResponse(String json, Set<Long> wanted, Map<Long, JsonNode> into) throws IOException {
+        if (json == null) {
+            return;
+        }
+        for (JsonNode matchNode : objectMapper.readTree(json).path("response")) {
+            long id = matchNode.path("fixture").path("id").asLong();
+            if (wanted.contains(id)) {
+                into.put(id, matchNode);
+            }
+        }
+    }
 }
@@ -1,14 +1,22 @@
 package com.example.FYP.Api.Job;
 
+import com.example.FYP.Api.Health.FixtureWarmupHealthIndicator;
 import com.example.FYP.Api.Service.FixtureSyncService;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Component
 @RequiredArgsConstructor
@@ -16,24 +24,102 @@ import java.time.LocalDate;
 public class FixtureSyncJob {
 
     private final FixtureSyncService syncService;
+    private final FixtureWarmupHealthIndicator warmupHealth;
 
-    @PostConstruct
+    @Value("${fixtures.warmup.concurrency:3}")
+    private int warmupConcurrency;
+
+    private static final int BACKFILL_BATCH_SIZE = 500;
+    private static final int WARMUP_DAYS = 7;
+
+    /**
+     * Syncs today and the next seven days in the background, a few days at a time,
+     * so a slow upstream does not hold up startup. Progress is reported by
+     * {@link FixtureWarmupHealthIndicator}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
     public void syncOnStartup() {
-        log.info("Syncing fixtures on startup...");
+        int days = WARMUP_DAYS + 1;
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(warmupConcurrency, days)), new CustomizableThreadFactory("fixture-warmup-"));
+        long startedAt = System.currentTimeMillis();
+        warmupHealth.started(days);
+        log.info("Syncing fixtures for {} days in the background ({} at a time)", days, warmupConcurrency);
+
+        CompletableFuture<?>[] syncs = new CompletableFuture<?>[days];
+        for (int i = 0; i < days; i++) {
+            String date = LocalDate.now().plusDays(i).toString();
+            syncs[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    syncService.syncFixtures(date);
+                    warmupHealth.daySynced(date);
+                    log.info("Synced fixtures for {}", date);
+                } catch (Exception e) {
+                    warmupHealth.dayFailed(date);
+                    log.error("Startup fixture sync failed for {}", date, e);
+                }
+            }, executor);
+        }
+
+        CompletableFuture.allOf(syncs).whenComplete((ignored, error) -> {
+            executor.shutdown();
+            warmupHealth.finished();
+            log.info("Startup fixture sync completed in {} ms", System.currentTimeMillis() - startedAt);
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIndexedColumns() {
         try {
-            for (int i = 0; i <= 7; i++) {
-                String date = LocalDate.now().plusDays(i).toString();
-                syncService.syncFixtures(date);
-                log.info("Synced fixtures for {}", date);
+            int backfilled = 0;
+            Long lastId = syncService.backfillIndexedColumns(0L, BACKFILL_BATCH_SIZE);
+            while (lastId != null) {
+                backfilled++;
+                lastId = syncService.backfillIndexedColumns(lastId, BACKFILL_BATCH_SIZE);
+            }
+            if (backfilled > 0) {
+                log.info("Backfilled indexed fixture columns in {} batches", backfilled);
+            }
+
+            if (syncService.isRawJsonCompression()) {
+                compressStoredRawJson();
+            }
+
+            int reconciled = syncService.reconcileBetCounts();
+            if (reconciled > 0) {
+                log.info("Reconciled bet counts for {} fixtures", reconciled);
             }
-            log.info("Startup fixture sync completed");
         } catch (Exception e) {
-            log.error("Startup fixture sync failed", e);
+            log.error("Fixture column backfill failed", e);
+        }
+    }
+
+    private void compressStoredRawJson() {
+        long rows = 0;
+        long plainBytes = 0;
+        long compressedBytes = 0;
+
+        FixtureSyncService.CompressionBatch batch = syncService.compressStoredRawJson(0L, BACKFILL_BATCH_SIZE);
+        while (batch != null) {
+            rows += batch.rows();
+            plainBytes += batch.plainBytes();
+            compressedBytes += batch.compressedBytes();
+            batch = syncService.compressStoredRawJson(batch.lastId(), BACKFILL_BATCH_SIZE);
+        }
+
+        if (rows > 0) {
+            log.info("Compressed rawJson for {} fixtures: {} KB -> {} KB",
+                    rows, plainBytes / 1024, compressedBytes / 1024);
         }
     }
 
     @Scheduled(fixedRate = 60 * 1000)
     public void syncToday() {
+        // The warm-up is already syncing today; running both would race on the same new rows.
+        if (!warmupHealth.isWarm()) {
+            return;
+        }
         try {
             syncService.syncFixtures(LocalDate.now().toString());
             log.info("Scheduled sync completed for today");
@@ -44,6 +130,9 @@ public class FixtureSyncJob {
     
     @Scheduled(fixedRate = 5 * 60 * 1000)
     public void syncTomorrow() {
+        if (!warmupHealth.isWarm()) {
+            return;
+        }
         try {
             syncService.syncFixtures(LocalDate.now().plusDays(1).toString());
             log.info("Scheduled sync completed for tomorrow");
@@ -0,0 +1,27 @@
+package com.example.FYP.Api.Job;
+
+import com.example.FYP.Api.Service.TicketSettlementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketSettlementJob {
+
+    private final TicketSettlementService ticketSettlementService;
+
+    @Scheduled(fixedDelay = 300000, initialDelay = 60000)
+    public void settleMissedTickets() {
+        try {
+            int settled = ticketSettlementService.settleRecentlyResolvedTickets();
+            if (settled > 0) {
+                log.info("Ticket sweep settled {} tickets missed by fixture resolution", settled);
+            }
+        } catch (Exception e) {
+            log.error("Ticket settlement sweep failed", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.FYP.Api.Listener;
+
+import com.example.FYP.Api.Event.FixtureBetCountsChangedEvent;
+import com.example.FYP.Api.Event.FixturesChangedEvent;
+import com.example.FYP.Api.Service.FixtureFeedCache;
+import com.example.FYP.Api.Service.FixtureKickoffIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class FixtureChangeListener {
+
+    private final FixtureKickoffIndex fixtureKickoffIndex;
+    private final FixtureFeedCache fixtureFeedCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(FixturesChangedEvent event) {
+        // The feed is rebuilt from the index, so the index must be current before the cache is dropped.
+        List<Instant> kickoffs = new ArrayList<>(event.kickoffsById().values());
+        kickoffs.addAll(fixtureKickoffIndex.refresh(event.kickoffsById().keySet()));
+
+        fixtureFeedCache.onFixturesChanged(kickoffs);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(FixtureBetCountsChangedEvent event) {
+        fixtureFeedCache.onBetCountsChanged();
+    }
+}
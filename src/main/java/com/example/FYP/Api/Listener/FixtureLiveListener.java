@@ -0,0 +1,27 @@
+package com.example.FYP.Api.Listener;
+
+import com.example.FYP.Api.Event.FixtureLiveUpdatesEvent;
+import com.example.FYP.Api.Messaging.WebSocket.FixtureLivePublisher;
+import com.example.FYP.Api.Messaging.WebSocket.FixtureLiveUpdate;
+import com.example.FYP.Api.Service.FixturePollSchedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class FixtureLiveListener {
+
+    private final FixtureLivePublisher fixtureLivePublisher;
+
+    // Runs after commit so subscribers never see a state that REST reads cannot return yet.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(FixtureLiveUpdatesEvent event) {
+        for (FixtureLiveUpdate update : event.updates()) {
+            fixtureLivePublisher.publish(update);
+            if (FixturePollSchedule.FINISHED_STATUSES.contains(update.status())) {
+                fixtureLivePublisher.forget(update.fixtureId());
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.FYP.Api.Listener;
+
+import com.example.FYP.Api.Event.BetsResolvedEvent;
+import com.example.FYP.Api.Service.TicketSettlementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketSettlementListener {
+
+    private final TicketSettlementService ticketSettlementService;
+
+    // Runs after the resolving transaction, so it only ever sees committed leg results.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void handle(BetsResolvedEvent event) {
+        try {
+            ticketSettlementService.settleTicketsForFixture(event.fixtureId());
+        } catch (Exception e) {
+            log.error("Ticket settlement for fixture {} failed, left to the sweep job: {}",
+                    event.fixtureId(), e.getMessage(), e);
+        }
+    }
+}
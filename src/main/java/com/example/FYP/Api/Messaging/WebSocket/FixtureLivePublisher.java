@@ -0,0 +1,65 @@
+package com.example.FYP.Api.Messaging.WebSocket;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes fixture deltas to the global live topic and to each fixture's own topic.
+ * Repeated deltas (same status, score and minute) are dropped before they reach the broker.
+ * Delivery to each subscriber is counted on the outbound channel, see FixtureLiveDeliveryInterceptor.
+ */
+@Service
+@Slf4j
+public class FixtureLivePublisher {
+
+    public static final String LIVE_TOPIC = "/topic/fixtures/live";
+    public static final String FIXTURE_TOPIC_PREFIX = "/topic/fixtures/";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<Long, FixtureLiveUpdate> lastSent = new ConcurrentHashMap<>();
+
+    private final Timer fanOutLatency;
+    private final Counter sent;
+
+    public FixtureLivePublisher(SimpMessagingTemplate messagingTemplate, MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.fanOutLatency = Timer.builder("fixtures.live.fanout")
+                .description("Time from detecting a fixture change to handing it to the broker")
+                .register(meterRegistry);
+        this.sent = Counter.builder("fixtures.live.messages")
+                .description("Fixture live updates handed to the broker")
+                .tag("result", "sent")
+                .register(meterRegistry);
+    }
+
+    public void publish(FixtureLiveUpdate update) {
+        if (update.sameStateAs(lastSent.get(update.fixtureId()))) {
+            return;
+        }
+
+        try {
+            messagingTemplate.convertAndSend(FIXTURE_TOPIC_PREFIX + update.fixtureId(), update);
+            messagingTemplate.convertAndSend(LIVE_TOPIC, update);
+            lastSent.put(update.fixtureId(), update);
+            sent.increment();
+        } catch (Exception e) {
+            log.warn("Failed to push live update for fixture {}: {}", update.fixtureId(), e.getMessage());
+        }
+        fanOutLatency.record(System.currentTimeMillis() - update.detectedAt(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops tracking a fixture once it can no longer change.
+     */
+    public void forget(Long fixtureId) {
+        lastSent.remove(fixtureId);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.FYP.Api.Messaging.WebSocket;
+
+import com.example.FYP.Api.Model.FixtureSnapshot;
+
+import java.util.Objects;
+
+/**
+ * Compact live delta pushed to fixture topics instead of the whole upstream document.
+ */
+public record FixtureLiveUpdate(
+        Long fixtureId,
+        String status,
+        Integer homeGoals,
+        Integer awayGoals,
+        Integer elapsed,
+        long detectedAt
+) {
+
+    public static FixtureLiveUpdate of(Long fixtureId, FixtureSnapshot snapshot) {
+        return new FixtureLiveUpdate(
+                fixtureId,
+                snapshot.getStatusShort(),
+                snapshot.getHomeGoals(),
+                snapshot.getAwayGoals(),
+                snapshot.getElapsed(),
+                System.currentTimeMillis()
+        );
+    }
+
+    public boolean sameStateAs(FixtureLiveUpdate other) {
+        return other != null
+                && Objects.equals(status, other.status)
+                && Objects.equals(homeGoals, other.homeGoals)
+                && Objects.equals(awayGoals, other.awayGoals)
+                && Objects.equals(elapsed, other.elapsed);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.FYP.Api.Model;
+
+import com.example.FYP.Api.Entity.MarketType;
+
+/**
+ * One market/selection pair of a fixture's pending bets; every bet in it settles the same way.
+ */
+public record BetSelectionGroup(MarketType marketType, String selection) {
+}
@@ -0,0 +1,75 @@
+package com.example.FYP.Api.Model;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Deflate-compressed JSON document. Holds only the compressed bytes when read from
+ * the database and inflates them the first time the text is actually requested.
+ */
+public final class CompressedJson {
+
+    private final byte[] bytes;
+    private volatile String text;
+
+    private CompressedJson(byte[] bytes, String text) {
+        this.bytes = bytes;
+        this.text = text;
+    }
+
+    public static CompressedJson fromBytes(byte[] bytes) {
+        return new CompressedJson(bytes, null);
+    }
+
+    public static CompressedJson compress(String json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length() / 4));
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream stream = new DeflaterOutputStream(out, deflater)) {
+            stream.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return new CompressedJson(out.toByteArray(), json);
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public String getText() {
+        String current = text;
+        if (current == null) {
+            current = inflate(bytes);
+            text = current;
+        }
+        return current;
+    }
+
+    // Compared by content so Hibernate's dirty check does not rewrite unchanged rows.
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof CompressedJson other && Arrays.equals(bytes, other.bytes));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    private static String inflate(byte[] bytes) {
+        try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(inflater.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.FYP.Api.Model.Filter;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FixtureFilterDTO {
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+
+    private Long leagueId;
+    private Long teamId;
+    private List<String> status;
+
+    /**
+     * Only honoured for admins; everyone else always sees visible fixtures only.
+     */
+    private Boolean visible;
+}
@@ -0,0 +1,34 @@
+package com.example.FYP.Api.Model;
+
+import com.example.FYP.Api.Exception.ApiRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (kickoff, id) ordering of fixtures, passed to clients as an opaque token.
+ */
+public record FixtureCursor(
+        Instant kickoffAt,
+        Long id
+) {
+
+    public String encode() {
+        String raw = kickoffAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FixtureCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new FixtureCursor(
+                    Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw ApiRequestException.badRequest("Invalid cursor: " + token);
+        }
+    }
+}
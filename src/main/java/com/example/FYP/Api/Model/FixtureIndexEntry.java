@@ -0,0 +1,12 @@
+package com.example.FYP.Api.Model;
+
+import java.time.Instant;
+
+/**
+ * Lightweight projection of a fixture used by the in-memory kickoff index.
+ */
+public record FixtureIndexEntry(
+        Long id,
+        Instant kickoffAt,
+        Boolean showMatch
+) {}
@@ -0,0 +1,12 @@
+package com.example.FYP.Api.Model;
+
+import java.time.Instant;
+
+/**
+ * Projection of a fixture used to seed the resolve job's poll schedule and to plan its upstream calls.
+ */
+public record FixturePollTarget(
+        Long id,
+        Instant kickoffAt,
+        String statusShort
+) {}
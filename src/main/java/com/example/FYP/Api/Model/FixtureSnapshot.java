@@ -0,0 +1,133 @@
+package com.example.FYP.Api.Model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import lombok.Value;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+/**
+ * Immutable, typed view over a fixture's upstream document.
+ * Built once per rawJson version and shared by every reader of the fixture;
+ * {@link #getRoot()} is shared too and must not be mutated.
+ */
+@Value
+public class FixtureSnapshot {
+
+    public static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static final FixtureSnapshot EMPTY = of(null, MissingNode.getInstance());
+
+    String source;
+    JsonNode root;
+
+    Long externalFixtureId;
+    String fixtureDate;
+    Instant kickoff;
+    String statusShort;
+    String statusLong;
+    Integer elapsed;
+    Long leagueId;
+
+    Long homeTeamId;
+    String homeTeamName;
+    String homeTeamLogo;
+    Long awayTeamId;
+    String awayTeamName;
+    String awayTeamLogo;
+
+    Integer homeGoals;
+    Integer awayGoals;
+    Integer halftimeHomeGoals;
+    Integer halftimeAwayGoals;
+    boolean hasGoals;
+    boolean hasHalftime;
+
+    public static FixtureSnapshot parse(String rawJson) {
+        if (rawJson == null || rawJson.isEmpty()) {
+            return EMPTY;
+        }
+        try {
+            return of(rawJson, MAPPER.readTree(rawJson));
+        } catch (Exception e) {
+            return of(rawJson, MissingNode.getInstance());
+        }
+    }
+
+    public static FixtureSnapshot of(String source, JsonNode root) {
+        JsonNode fixture = root.path("fixture");
+        JsonNode status = fixture.path("status");
+        JsonNode home = root.path("teams").path("home");
+        JsonNode away = root.path("teams").path("away");
+        JsonNode goals = root.path("goals");
+        JsonNode halftime = root.path("score").path("halftime");
+        String date = text(fixture.path("date"));
+
+        return new FixtureSnapshot(
+                source,
+                root,
+                longValue(fixture.path("id")),
+                date,
+                parseInstant(date),
+                text(status.path("short")),
+                text(status.path("long")),
+                intValue(status.path("elapsed")),
+                longValue(root.path("league").path("id")),
+                longValue(home.path("id")),
+                text(home.path("name")),
+                text(home.path("logo")),
+                longValue(away.path("id")),
+                text(away.path("name")),
+                text(away.path("logo")),
+                intValue(goals.path("home")),
+                intValue(goals.path("away")),
+                intValue(halftime.path("home")),
+                intValue(halftime.path("away")),
+                isPresent(goals),
+                isPresent(halftime)
+        );
+    }
+
+    public Map<String, Integer> getGoals() {
+        if (!hasGoals) return null;
+        return Map.of(
+                "home", homeGoals != null ? homeGoals : 0,
+                "away", awayGoals != null ? awayGoals : 0
+        );
+    }
+
+    public String getFirstTeamToScore() {
+        if (!hasHalftime) return null;
+        if (halftimeHomeGoals != null && halftimeHomeGoals > 0) return "HOME";
+        if (halftimeAwayGoals != null && halftimeAwayGoals > 0) return "AWAY";
+        return null;
+    }
+
+    private static boolean isPresent(JsonNode node) {
+        return !node.isMissingNode() && !node.isNull();
+    }
+
+    private static String text(JsonNode node) {
+        return isPresent(node) ? node.asText() : null;
+    }
+
+    private static Long longValue(JsonNode node) {
+        return isPresent(node) ? node.asLong() : null;
+    }
+
+    private static Integer intValue(JsonNode node) {
+        return isPresent(node) ? node.asInt() : null;
+    }
+
+    private static Instant parseInstant(String date) {
+        if (date == null || date.isEmpty()) return null;
+        try {
+            return OffsetDateTime.parse(date).toInstant();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.FYP.Api.Model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized once and kept both as plain JSON and gzip-compressed,
+ * together with the strong ETag of the data it was rendered from.
+ * The arrays are shared by every request that serves the feed and must not be modified.
+ */
+public final class RenderedFeed {
+
+    private final byte[] json;
+    private final byte[] gzipped;
+    private final String eTag;
+
+    private RenderedFeed(byte[] json, byte[] gzipped, String eTag) {
+        this.json = json;
+        this.gzipped = gzipped;
+        this.eTag = eTag;
+    }
+
+    public static RenderedFeed render(ObjectMapper mapper, Object body, String eTag) {
+        try {
+            byte[] json = mapper.writeValueAsBytes(body);
+            return new RenderedFeed(json, gzip(json), eTag);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzipped() {
+        return gzipped;
+    }
+
+    /**
+     * ETag of the plain JSON body; the gzipped body is a different representation and
+     * gets its own, see {@link #getGzipETag()}.
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    public String getGzipETag() {
+        return gzipETag(eTag);
+    }
+
+    /**
+     * The gzipped representation's ETag for a given plain-JSON ETag.
+     */
+    public static String gzipETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + "-gzip\"";
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 5));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        }
+        return out.toByteArray();
+    }
+}
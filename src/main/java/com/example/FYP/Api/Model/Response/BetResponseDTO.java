@@ -19,6 +19,7 @@ public class BetResponseDTO {
     private BigDecimal totalOdds;
     private BigDecimal potentialWinnings;
     private BetStatus status;
+    private Long payout;        // Points credited once the ticket is settled, null before
     private List<BetLegResponseDTO> legs;
 
     // --- Added fields to fix Frontend Crash & Missing History ---
@@ -0,0 +1,13 @@
+package com.example.FYP.Api.Model;
+
+import com.example.FYP.Api.Entity.BetStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The parts of a bet leg that ticket settlement needs.
+ */
+public record TicketLeg(String ticketId, Long userId, Double stake, BigDecimal odd,
+                        BetStatus status, LocalDateTime resolvedAt) {
+}
@@ -0,0 +1,27 @@
+package com.example.FYP.Api.Model.View.Team;
+
+import com.example.FYP.Api.Model.View.FixtureViewDTO;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TeamPageDTO {
+    private TeamHeaderDTO header;
+    private TeamDetailsDTO details;
+    private FixtureViewDTO lastMatch;
+    private List<SquadMemberDTO> squad;
+    private List<TrophyDTO> trophies;
+    private TeamStatsDTO statistics;
+
+    /**
+     * Sections that failed or did not finish before the page deadline; they are null above.
+     */
+    private List<String> missingSections;
+}
@@ -4,9 +4,17 @@ import com.example.FYP.Api.Entity.Bet;
 import com.example.FYP.Api.Entity.BetStatus;
 import com.example.FYP.Api.Entity.Fixture;
 import com.example.FYP.Api.Entity.MarketType;
+import com.example.FYP.Api.Model.BetSelectionGroup;
+import com.example.FYP.Api.Model.TicketLeg;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface BetRepository extends JpaRepository<Bet, Long>, JpaSpecificationExecutor<Bet> {
@@ -61,4 +69,50 @@ public interface BetRepository extends JpaRepository<Bet, Long>, JpaSpecificatio
         "SELECT COUNT(DISTINCT b.ticketId) FROM Bet b WHERE b.status = :status AND b.createdDate > :date AND b.ticketId IS NOT NULL"
     )
     long countDistinctTicketsByStatusAndCreatedDateAfter(BetStatus status, java.time.LocalDateTime date);
+
+    @Query("SELECT DISTINCT new com.example.FYP.Api.Model.BetSelectionGroup(b.marketType, b.selection) " +
+            "FROM Bet b WHERE b.fixture.id = :fixtureId AND b.status = com.example.FYP.Api.Entity.BetStatus.PENDING")
+    List<BetSelectionGroup> findPendingSelectionGroups(@Param("fixtureId") Long fixtureId);
+
+    @Query("SELECT b.id FROM Bet b WHERE b.fixture.id = :fixtureId " +
+            "AND b.status = com.example.FYP.Api.Entity.BetStatus.PENDING " +
+            "AND b.marketType = :marketType AND b.selection = :selection AND b.id > :afterId ORDER BY b.id ASC")
+    List<Long> findPendingBetIdsAfter(@Param("fixtureId") Long fixtureId,
+                                      @Param("marketType") MarketType marketType,
+                                      @Param("selection") String selection,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Bet b SET b.status = :status, b.lastModifiedDate = :now " +
+            "WHERE b.id IN :ids AND b.status = com.example.FYP.Api.Entity.BetStatus.PENDING")
+    int settlePendingBets(@Param("ids") Collection<Long> ids,
+                          @Param("status") BetStatus status,
+                          @Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT DISTINCT b.ticket_id FROM bet b " +
+            "WHERE b.fixture_id = :fixtureId AND b.ticket_id IS NOT NULL AND b.user_id IS NOT NULL " +
+            "AND b.ticket_id > :afterTicketId " +
+            "AND NOT EXISTS (SELECT 1 FROM ticket_settlement ts WHERE ts.ticket_id = b.ticket_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM bet p WHERE p.ticket_id = b.ticket_id AND p.status = 'PENDING') " +
+            "ORDER BY b.ticket_id LIMIT :limit",
+            nativeQuery = true)
+    List<String> findSettleableTicketIdsForFixture(@Param("fixtureId") Long fixtureId,
+                                                   @Param("afterTicketId") String afterTicketId,
+                                                   @Param("limit") int limit);
+
+    @Query(value = "SELECT DISTINCT b.ticket_id FROM bet b " +
+            "WHERE b.last_modified_date >= :since AND b.status <> 'PENDING' AND b.ticket_id IS NOT NULL AND b.user_id IS NOT NULL " +
+            "AND b.ticket_id > :afterTicketId " +
+            "AND NOT EXISTS (SELECT 1 FROM ticket_settlement ts WHERE ts.ticket_id = b.ticket_id) " +
+            "AND NOT EXISTS (SELECT 1 FROM bet p WHERE p.ticket_id = b.ticket_id AND p.status = 'PENDING') " +
+            "ORDER BY b.ticket_id LIMIT :limit",
+            nativeQuery = true)
+    List<String> findSettleableTicketIdsResolvedSince(@Param("since") LocalDateTime since,
+                                                      @Param("afterTicketId") String afterTicketId,
+                                                      @Param("limit") int limit);
+
+    @Query("SELECT new com.example.FYP.Api.Model.TicketLeg(b.ticketId, b.user.id, b.stake, b.odd, b.status, b.lastModifiedDate) " +
+            "FROM Bet b WHERE b.ticketId IN :ticketIds")
+    List<TicketLeg> findTicketLegs(@Param("ticketIds") Collection<String> ticketIds);
 }
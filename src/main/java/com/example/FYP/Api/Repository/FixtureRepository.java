@@ -1,59 +1,105 @@
 package com.example.FYP.Api.Repository;
 
 import com.example.FYP.Api.Entity.Fixture;
+import com.example.FYP.Api.Model.FixtureIndexEntry;
+import com.example.FYP.Api.Model.FixturePollTarget;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface FixtureRepository extends JpaRepository<Fixture, Long>, JpaSpecificationExecutor<Fixture> {
-    
+
     @Query(value = "SELECT * FROM fixtures f WHERE " +
-            "f.raw_json LIKE '%\"short\":\"1H\"%' OR " +
-            "f.raw_json LIKE '%\"short\":\"2H\"%' OR " +
-            "f.raw_json LIKE '%\"short\":\"HT\"%' OR " +
-            "f.raw_json LIKE '%\"short\":\"ET\"%' OR " +
-            "f.raw_json LIKE '%\"short\":\"P\"%' OR " +
-            "f.raw_json LIKE '%\"short\":\"BT\"%' OR " +
-            "f.raw_json LIKE '%\"short\":\"LIVE\"%' OR " +
-            "f.raw_json LIKE '%\"short\":\"INT\"%'",
+            "f.status_short IN ('1H', '2H', 'HT', 'ET', 'P', 'BT', 'LIVE', 'INT')",
             nativeQuery = true)
     List<Fixture> findAllLiveFixtures();
-    
-    @Query(value = "SELECT * FROM fixtures f WHERE f.raw_json LIKE '%\"short\":\"NS\"%'",
+
+    @Query(value = "SELECT * FROM fixtures f WHERE f.status_short = 'NS'",
             nativeQuery = true)
     List<Fixture> findAllNotStartedFixtures();
-    
+
     @Query(value = "SELECT * FROM fixtures f WHERE " +
-            "f.raw_json NOT LIKE '%\"short\":\"FT\"%' AND " +
-            "f.raw_json NOT LIKE '%\"short\":\"AET\"%' AND " +
-            "f.raw_json NOT LIKE '%\"short\":\"PEN\"%' AND " +
-            "f.raw_json NOT LIKE '%\"short\":\"PST\"%' AND " +
-            "f.raw_json NOT LIKE '%\"short\":\"CANC\"%' AND " +
-            "f.raw_json NOT LIKE '%\"short\":\"ABD\"%' AND " +
-            "f.raw_json NOT LIKE '%\"short\":\"AWD\"%' AND " +
-            "f.raw_json NOT LIKE '%\"short\":\"WO\"%'",
+            "f.status_short NOT IN ('FT', 'AET', 'PEN', 'PST', 'CANC', 'ABD', 'AWD', 'WO')",
             nativeQuery = true)
     List<Fixture> findAllUnfinishedFixtures();
 
+    @Query(value = "SELECT * FROM fixtures f WHERE " +
+            "f.status_short NOT IN ('FT', 'AET', 'PEN', 'PST', 'CANC', 'ABD', 'AWD', 'WO') " +
+            "AND f.kickoff_at <= :cutoff",
+            nativeQuery = true)
+    List<Fixture> findUnfinishedFixturesStartingBefore(@Param("cutoff") Instant cutoff);
+
+    @Query("SELECT new com.example.FYP.Api.Model.FixturePollTarget(f.id, f.kickoffAt, f.statusShort) " +
+            "FROM Fixture f WHERE f.statusShort NOT IN ('FT', 'AET', 'PEN', 'PST', 'CANC', 'ABD', 'AWD', 'WO') " +
+            "AND f.kickoffAt <= :cutoff")
+    List<FixturePollTarget> findPollTargetsStartingBefore(@Param("cutoff") Instant cutoff);
+
+    @Query("SELECT new com.example.FYP.Api.Model.FixturePollTarget(f.id, f.kickoffAt, f.statusShort) " +
+            "FROM Fixture f WHERE f.id IN :ids")
+    List<FixturePollTarget> findPollTargetsByIds(@Param("ids") Collection<Long> ids);
+
     @Query(value = "SELECT DISTINCT f.* FROM fixtures f " +
             "INNER JOIN bet b ON b.fixture_id = f.id " +
             "WHERE b.status = 'PENDING' " +
-            "AND (f.raw_json LIKE '%\"short\":\"FT\"%' OR " +
-            "     f.raw_json LIKE '%\"short\":\"AET\"%' OR " +
-            "     f.raw_json LIKE '%\"short\":\"PEN\"%')",
+            "AND f.status_short IN ('FT', 'AET', 'PEN')",
             nativeQuery = true)
     List<Fixture> findFinishedFixturesWithPendingBets();
 
-    @Query(value = "SELECT * FROM fixtures f " +
-            "WHERE (CAST(JSON_EXTRACT(f.raw_json, '$.teams.home.id') AS UNSIGNED) = :teamId " +
-            "   OR CAST(JSON_EXTRACT(f.raw_json, '$.teams.away.id') AS UNSIGNED) = :teamId) " +
-            "AND (f.raw_json LIKE '%\"short\":\"FT\"%' OR " +
-            "     f.raw_json LIKE '%\"short\":\"AET\"%' OR " +
-            "     f.raw_json LIKE '%\"short\":\"PEN\"%') " +
-            "ORDER BY JSON_UNQUOTE(JSON_EXTRACT(f.raw_json, '$.fixture.date')) DESC " +
-            "LIMIT 1",
+    @Query(value = "SELECT * FROM (" +
+            "  (SELECT * FROM fixtures h WHERE h.home_team_id = :teamId " +
+            "     AND h.status_short IN ('FT', 'AET', 'PEN') ORDER BY h.kickoff_at DESC LIMIT 1) " +
+            "  UNION ALL " +
+            "  (SELECT * FROM fixtures a WHERE a.away_team_id = :teamId " +
+            "     AND a.status_short IN ('FT', 'AET', 'PEN') ORDER BY a.kickoff_at DESC LIMIT 1)" +
+            ") f ORDER BY f.kickoff_at DESC LIMIT 1",
+            nativeQuery = true)
+    List<Fixture> findLastFinishedMatchByTeamId(@Param("teamId") Long teamId);
+
+    @Query("SELECT new com.example.FYP.Api.Model.FixtureIndexEntry(f.id, f.kickoffAt, ms.showMatch) " +
+            "FROM Fixture f LEFT JOIN f.matchSettings ms WHERE f.kickoffAt IS NOT NULL")
+    List<FixtureIndexEntry> findAllIndexEntries();
+
+    @Query("SELECT new com.example.FYP.Api.Model.FixtureIndexEntry(f.id, f.kickoffAt, ms.showMatch) " +
+            "FROM Fixture f LEFT JOIN f.matchSettings ms WHERE f.id IN :ids")
+    List<FixtureIndexEntry> findIndexEntriesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT f FROM Fixture f LEFT JOIN FETCH f.matchSettings LEFT JOIN FETCH f.matchPredictionSettings " +
+            "ORDER BY f.kickoffAt ASC, f.id ASC")
+    List<Fixture> findAllWithSettings();
+
+    @Query("SELECT f FROM Fixture f LEFT JOIN FETCH f.matchSettings LEFT JOIN FETCH f.matchPredictionSettings " +
+            "WHERE f.id IN :ids")
+    List<Fixture> findAllWithSettingsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT f FROM Fixture f LEFT JOIN FETCH f.matchSettings LEFT JOIN FETCH f.matchPredictionSettings " +
+            "WHERE f.kickoffAt >= :from AND f.kickoffAt < :to ORDER BY f.kickoffAt ASC")
+    List<Fixture> findWithSettingsKickingOffBetween(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Modifying
+    @Query("UPDATE Fixture f SET f.betCount = f.betCount + :count WHERE f.id = :fixtureId")
+    int incrementBetCount(@Param("fixtureId") Long fixtureId, @Param("count") long count);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE fixtures f " +
+            "JOIN (SELECT b.fixture_id, COUNT(*) AS bet_total FROM bet b GROUP BY b.fixture_id) c " +
+            "ON c.fixture_id = f.id " +
+            "SET f.bet_count = c.bet_total " +
+            "WHERE f.bet_count IS NULL OR f.bet_count <> c.bet_total",
             nativeQuery = true)
-    List<Fixture> findLastFinishedMatchByTeamId(@org.springframework.data.repository.query.Param("teamId") Long teamId);
+    int reconcileBetCounts();
+
+    @Query("SELECT f FROM Fixture f WHERE f.rawJsonDeflated IS NULL AND f.id > :afterId ORDER BY f.id ASC")
+    List<Fixture> findUncompressedFixturesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT f FROM Fixture f WHERE f.statusShort IS NULL AND f.id > :afterId ORDER BY f.id ASC")
+    List<Fixture> findUnindexedFixturesAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
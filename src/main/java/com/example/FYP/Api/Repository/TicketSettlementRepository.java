@@ -0,0 +1,7 @@
+package com.example.FYP.Api.Repository;
+
+import com.example.FYP.Api.Entity.TicketSettlement;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TicketSettlementRepository extends JpaRepository<TicketSettlement, String> {
+}
@@ -6,9 +6,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -100,4 +102,16 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
         @Param("activityThreshold") java.time.LocalDateTime activityThreshold
     );
 
+    @Modifying
+    @Query("UPDATE User u SET u.points = u.points - :amount WHERE u.id = :userId AND u.points >= :amount")
+    int deductPoints(@Param("userId") Long userId, @Param("amount") long amount);
+
+    @Modifying
+    @Query("UPDATE User u SET u.points = COALESCE(u.points, 0) + :amount WHERE u.id = :userId")
+    int addPoints(@Param("userId") Long userId, @Param("amount") long amount);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.points = :points WHERE u.id = :userId")
+    int setPoints(@Param("userId") Long userId, @Param("points") long points);
 }
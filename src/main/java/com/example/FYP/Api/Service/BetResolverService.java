@@ -1,18 +1,32 @@
 package com.example.FYP.Api.Service;
 
 
-import com.example.FYP.Api.Entity.Bet;
 import com.example.FYP.Api.Entity.BetStatus;
 import com.example.FYP.Api.Entity.Fixture;
+import com.example.FYP.Api.Entity.MarketType;
+import com.example.FYP.Api.Event.BetsResolvedEvent;
 import com.example.FYP.Api.Exception.ApiRequestException;
+import com.example.FYP.Api.Model.BetSelectionGroup;
+import com.example.FYP.Api.Model.FixtureSnapshot;
 import com.example.FYP.Api.Repository.BetRepository;
 import com.example.FYP.Api.Repository.FixtureRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @Slf4j
@@ -21,88 +35,130 @@ public class BetResolverService {
 
     private final BetRepository betRepository;
     private final FixtureRepository fixtureRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${bets.settlement.chunk-size:1000}")
+    private int chunkSize;
+
+    private TransactionTemplate chunkTransaction;
+    private Timer settlementTimer;
+
+    @PostConstruct
+    void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        settlementTimer = Timer.builder("bets.settlement")
+                .description("Time to settle the pending bets of one fixture")
+                .register(meterRegistry);
+    }
 
-    @Transactional
     public void resolveBetsForFixture(Long fixtureId) {
         resolveBetsForFixture(fixtureRepository.findById(fixtureId)
                 .orElseThrow(() -> ApiRequestException.badRequest("Fixture not found")));
     }
 
-    @Transactional
+    /**
+     * Settles the fixture's pending bets set-wise: the outcome is worked out once per
+     * market/selection pair and written with bulk UPDATEs over chunks of bet ids.
+     * Each chunk commits in its own transaction, so row locks are held only for that chunk
+     * and a failure leaves the remaining bets PENDING for the retry job.
+     */
     public void resolveBetsForFixture(Fixture fixture) {
-        if (fixture.getGoals() == null) {
+        FixtureSnapshot snapshot = fixture.getSnapshot();
+        if (snapshot.getGoals() == null) {
             log.warn("Fixture {} has no goals data, skipping bet resolution", fixture.getId());
             return;
         }
 
-        List<Bet> bets = betRepository.findByFixture(fixture);
-        
-        if (bets.isEmpty()) {
-            log.debug("No bets found for fixture {}", fixture.getId());
+        List<BetSelectionGroup> groups = betRepository.findPendingSelectionGroups(fixture.getId());
+
+        if (groups.isEmpty()) {
+            log.debug("No pending bets found for fixture {}", fixture.getId());
             return;
         }
 
-        log.info("Resolving {} bets for fixture {}", bets.size(), fixture.getId());
+        long start = System.nanoTime();
         int resolvedCount = 0;
         int errorCount = 0;
 
-        for (Bet bet : bets) {
-            if (bet.getStatus() != BetStatus.PENDING) {
-                continue;
-            }
-
+        for (BetSelectionGroup group : groups) {
             try {
-                BetStatus resolvedStatus = checkIfBetWon(bet, fixture);
-                if (resolvedStatus != null) {
-                    bet.setStatus(resolvedStatus);
-                    betRepository.save(bet);
-                    resolvedCount++;
-                    log.debug("Bet {} resolved as {}", bet.getId(), bet.getStatus());
-                } else {
-                    log.warn("Unknown market type {} for bet {} (fixture {}). Voiding bet.",
-                            bet.getMarketType(), bet.getId(), fixture.getId());
-                    bet.setStatus(BetStatus.VOID);
-                    betRepository.save(bet);
-                    resolvedCount++;
+                BetStatus resolvedStatus = checkIfBetWon(group.marketType(), group.selection(), snapshot);
+                if (resolvedStatus == null) {
+                    log.warn("Unknown market type {} / selection {} (fixture {}). Voiding bets.",
+                            group.marketType(), group.selection(), fixture.getId());
+                    resolvedStatus = BetStatus.VOID;
                 }
+
+                int settled = settleGroup(fixture.getId(), group, resolvedStatus);
+                resolvedCount += settled;
+                log.debug("Fixture {}: {} bets on {} {} resolved as {}",
+                        fixture.getId(), settled, group.marketType(), group.selection(), resolvedStatus);
             } catch (Exception e) {
                 errorCount++;
-                log.error("Failed to resolve bet {} (fixture {}, market {}, selection {}): {}", 
-                        bet.getId(), fixture.getId(), bet.getMarketType(), bet.getSelection(), 
-                        e.getMessage(), e);
+                log.error("Failed to resolve bets on fixture {} (market {}, selection {}): {}",
+                        fixture.getId(), group.marketType(), group.selection(), e.getMessage(), e);
             }
         }
 
-        log.info("Fixture {} resolution complete: {} resolved, {} errors", 
-                fixture.getId(), resolvedCount, errorCount);
+        settlementTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (resolvedCount > 0) {
+            eventPublisher.publishEvent(new BetsResolvedEvent(fixture.getId()));
+        }
+        log.info("Fixture {} resolution complete: {} bets resolved in {} groups, {} failed groups",
+                fixture.getId(), resolvedCount, groups.size() - errorCount, errorCount);
+    }
+
+    private int settleGroup(Long fixtureId, BetSelectionGroup group, BetStatus status) {
+        int settled = 0;
+        Long afterId = 0L;
+        while (true) {
+            Long cursor = afterId;
+            List<Long> ids = chunkTransaction.execute(tx -> {
+                List<Long> chunk = betRepository.findPendingBetIdsAfter(fixtureId, group.marketType(),
+                        group.selection(), cursor, PageRequest.of(0, chunkSize));
+                if (!chunk.isEmpty()) {
+                    betRepository.settlePendingBets(chunk, status, LocalDateTime.now());
+                }
+                return chunk;
+            });
+            if (ids == null || ids.isEmpty()) {
+                return settled;
+            }
+            settled += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
     }
 
-    private BetStatus checkIfBetWon(Bet bet, Fixture fixture) {
-        Integer homeGoals = fixture.getGoals().get("home");
-        Integer awayGoals = fixture.getGoals().get("away");
+    private BetStatus checkIfBetWon(MarketType marketType, String betSelection, FixtureSnapshot snapshot) {
+        Map<String, Integer> goals = snapshot.getGoals();
+        Integer homeGoals = goals.get("home");
+        Integer awayGoals = goals.get("away");
 
-        switch (bet.getMarketType()) {
+        switch (marketType) {
             case MATCH_WINNER:
-                if (bet.getSelection().equalsIgnoreCase("HOME")) {
+                if (betSelection.equalsIgnoreCase("HOME")) {
                     return homeGoals > awayGoals ? BetStatus.WON : BetStatus.LOST;
-                } else if (bet.getSelection().equalsIgnoreCase("AWAY")) {
+                } else if (betSelection.equalsIgnoreCase("AWAY")) {
                     return awayGoals > homeGoals ? BetStatus.WON : BetStatus.LOST;
-                } else if (bet.getSelection().equalsIgnoreCase("DRAW")) {
+                } else if (betSelection.equalsIgnoreCase("DRAW")) {
                     return homeGoals.equals(awayGoals) ? BetStatus.WON : BetStatus.LOST;
                 }
                 break;
 
             case BOTH_TEAMS_TO_SCORE:
                 boolean bothScored = homeGoals > 0 && awayGoals > 0;
-                if (bet.getSelection().equalsIgnoreCase("Yes")) {
+                if (betSelection.equalsIgnoreCase("Yes")) {
                     return bothScored ? BetStatus.WON : BetStatus.LOST;
-                } else if (bet.getSelection().equalsIgnoreCase("No")) {
+                } else if (betSelection.equalsIgnoreCase("No")) {
                     return !bothScored ? BetStatus.WON : BetStatus.LOST;
                 }
                 break;
 
             case GOALS_OVER_UNDER:
-                String[] parts = bet.getSelection().split(" ");
+                String[] parts = betSelection.split(" ");
                 if (parts.length == 2) {
                     double threshold = Double.parseDouble(parts[1]);
                     double totalGoals = homeGoals + awayGoals;
@@ -115,14 +171,15 @@ public class BetResolverService {
                 break;
 
             case FIRST_TEAM_TO_SCORE:
-                if (fixture.getFirstTeamToScore() != null) {
-                    return bet.getSelection().equalsIgnoreCase(fixture.getFirstTeamToScore()) 
+                String firstTeamToScore = snapshot.getFirstTeamToScore();
+                if (firstTeamToScore != null) {
+                    return betSelection.equalsIgnoreCase(firstTeamToScore) 
                             ? BetStatus.WON : BetStatus.LOST;
                 }
                 return BetStatus.VOID;
 
             case DOUBLE_CHANCE:
-                String selection = bet.getSelection().toUpperCase();
+                String selection = betSelection.toUpperCase();
                 if (selection.equals("HOME_OR_DRAW") || selection.equals("X1")) {
                     return homeGoals >= awayGoals ? BetStatus.WON : BetStatus.LOST;
                 } else if (selection.equals("AWAY_OR_DRAW") || selection.equals("X2")) {
@@ -133,7 +190,7 @@ public class BetResolverService {
                 break;
 
             case SCORE_PREDICTION:
-                String[] scoreParts = bet.getSelection().split("-");
+                String[] scoreParts = betSelection.split("-");
                 if (scoreParts.length == 2) {
                     int predictedHome = Integer.parseInt(scoreParts[0]);
                     int predictedAway = Integer.parseInt(scoreParts[1]);
@@ -4,35 +4,42 @@ import com.example.FYP.Api.Entity.Bet;
 import com.example.FYP.Api.Entity.BetStatus;
 import com.example.FYP.Api.Entity.Fixture;
 import com.example.FYP.Api.Entity.MatchSettings;
+import com.example.FYP.Api.Entity.TicketSettlement;
 import com.example.FYP.Api.Entity.User;
+import com.example.FYP.Api.Event.FixtureBetCountsChangedEvent;
 import com.example.FYP.Api.Exception.ApiRequestException;
 import com.example.FYP.Api.Exception.ResourceNotFoundException;
 import com.example.FYP.Api.Model.Filter.BetFilterDTO;
+import com.example.FYP.Api.Model.FixtureSnapshot;
 import com.example.FYP.Api.Model.Request.BetRequestDTO;
 import com.example.FYP.Api.Model.Response.BetLegResponseDTO;
 import com.example.FYP.Api.Model.Response.BetResponseDTO;
 import com.example.FYP.Api.Model.View.BetViewAllDTO;
 import com.example.FYP.Api.Repository.BetRepository;
 import com.example.FYP.Api.Repository.FixtureRepository;
+import com.example.FYP.Api.Repository.TicketSettlementRepository;
 import com.example.FYP.Api.Repository.UserRepository;
 import com.example.FYP.Api.Security.SecurityContext;
 import com.example.FYP.Api.Specification.GenericSpecification;
 import com.example.FYP.Api.Util.PagedResponse;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -44,7 +51,11 @@ public class BetService {
     private final SecurityContext securityContext;
     private final FixtureRepository fixtureRepository;
     private final UserRepository userRepository;
-    private final ObjectMapper objectMapper;
+    private final TicketSettlementRepository ticketSettlementRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${bets.odds.max:100}")
+    private BigDecimal maxOdd;
 
     @Transactional
     public BetResponseDTO create(BetRequestDTO betDTO) {
@@ -70,6 +81,14 @@ public class BetService {
         BigDecimal totalOdds = BigDecimal.ONE;
         
         for (var leg : betDTO.getLegs()) {
+            // Settlement credits points from these odds, so they must be sane before the ticket exists.
+            if (leg.getOdd() == null || leg.getOdd().compareTo(BigDecimal.ONE) <= 0) {
+                throw ApiRequestException.badRequest("Each leg needs odds greater than 1");
+            }
+            if (leg.getOdd().compareTo(maxOdd) > 0) {
+                throw ApiRequestException.badRequest("Odds may not exceed " + maxOdd.toPlainString());
+            }
+
             Fixture fixture = fixtureRepository.findById(leg.getFixtureId())
                     .orElseThrow(() -> ApiRequestException.badRequest("Fixture not found"));
 
@@ -109,14 +128,19 @@ public class BetService {
                     .build();
 
             bets.add(bet);
-            if (leg.getOdd() != null) {
-                totalOdds = totalOdds.multiply(leg.getOdd());
-            }
+            totalOdds = totalOdds.multiply(leg.getOdd());
         }
 
-        user.setPoints(user.getPoints() - stakeLong);
-        userRepository.save(user);
+        // Conditional decrement so a payout credited meanwhile is never overwritten by a stale balance.
+        if (userRepository.deductPoints(user.getId(), stakeLong) == 0) {
+            throw ApiRequestException.badRequest("Insufficient balance.");
+        }
         betRepository.saveAll(bets);
+
+        Map<Long, Long> legsPerFixture = bets.stream()
+                .collect(Collectors.groupingBy(bet -> bet.getFixture().getId(), Collectors.counting()));
+        legsPerFixture.forEach(fixtureRepository::incrementBetCount);
+        eventPublisher.publishEvent(new FixtureBetCountsChangedEvent(legsPerFixture.keySet()));
         
         BigDecimal potentialWinnings = BigDecimal.valueOf(betDTO.getStake()).multiply(totalOdds);
         
@@ -160,7 +184,7 @@ public class BetService {
             if (bet.getFixture() != null) {
                 Fixture f = bet.getFixture();
                 dto.setFixtureId(f.getId());
-                enrichDtoWithFixtureData(dto, f.getRawJson());
+                enrichDtoWithFixtureData(dto, f);
             }
             if (bet.getCreatedDate() != null) {
                 dto.setCreatedDate(bet.getCreatedDate());
@@ -204,18 +228,15 @@ public class BetService {
             response.setPotentialWinnings(BigDecimal.ZERO);
         }
 
-        boolean allWon = ticketLegs.stream().allMatch(b -> b.getStatus() == BetStatus.WON);
-        boolean anyLost = ticketLegs.stream().anyMatch(b -> b.getStatus() == BetStatus.LOST);
-        boolean anyVoid = ticketLegs.stream().anyMatch(b -> b.getStatus() == BetStatus.VOID);
-        
-        if (anyVoid) {
-            response.setStatus(BetStatus.VOID);
-        } else if (allWon) {
-            response.setStatus(BetStatus.WON);
-        } else if (anyLost) {
-            response.setStatus(BetStatus.LOST);
+        TicketSettlement settlement = originalBet.getTicketId() != null
+                ? ticketSettlementRepository.findById(originalBet.getTicketId()).orElse(null)
+                : null;
+        if (settlement != null) {
+            response.setStatus(settlement.getStatus());
+            response.setPayout(settlement.getPayout());
         } else {
-            response.setStatus(BetStatus.PENDING);
+            response.setStatus(TicketSettlementService.ticketStatus(
+                    ticketLegs.stream().map(Bet::getStatus).toList()));
         }
 
         List<BetLegResponseDTO> legResponses = new ArrayList<>();
@@ -237,57 +258,48 @@ public class BetService {
         if (!ticketLegs.isEmpty() && ticketLegs.get(0).getFixture() != null) {
             Fixture firstFixture = ticketLegs.get(0).getFixture();
             response.setFixtureId(firstFixture.getId());
-            enrichDtoWithFixtureData(response, firstFixture.getRawJson());
+            enrichDtoWithFixtureData(response, firstFixture);
         }
         
         return response;
     }
 
-    private void enrichDtoWithFixtureData(Object dto, String rawJson) {
-        if (rawJson == null || rawJson.isEmpty()) return;
+    private void enrichDtoWithFixtureData(Object dto, Fixture fixture) {
+        FixtureSnapshot snapshot = fixture.getSnapshot();
+        if (snapshot.getSource() == null) return;
 
-        try {
-            JsonNode root = objectMapper.readTree(rawJson);
-            JsonNode teams = root.path("teams");
-            JsonNode goals = root.path("goals");
-            JsonNode fixtureNode = root.path("fixture");
+        String homeName = Objects.toString(snapshot.getHomeTeamName(), "");
+        String homeLogo = Objects.toString(snapshot.getHomeTeamLogo(), "");
+        String awayName = Objects.toString(snapshot.getAwayTeamName(), "");
+        String awayLogo = Objects.toString(snapshot.getAwayTeamLogo(), "");
+        
+        Integer homeScore = snapshot.getHomeGoals() != null ? snapshot.getHomeGoals() : 0;
+        Integer awayScore = snapshot.getAwayGoals() != null ? snapshot.getAwayGoals() : 0;
+        
+        String date = Objects.toString(snapshot.getFixtureDate(), "");
+        String status = Objects.toString(snapshot.getStatusShort(), "");
 
-            String homeName = teams.path("home").path("name").asText("");
-            String homeLogo = teams.path("home").path("logo").asText("");
-            String awayName = teams.path("away").path("name").asText("");
-            String awayLogo = teams.path("away").path("logo").asText("");
-            
-            Integer homeScore = goals.path("home").asInt(0);
-            Integer awayScore = goals.path("away").asInt(0);
+        if (dto instanceof BetResponseDTO) {
+            BetResponseDTO r = (BetResponseDTO) dto;
+            r.setHomeTeam(homeName);
+            r.setHomeTeamLogo(homeLogo);
+            r.setAwayTeam(awayName);
+            r.setAwayTeamLogo(awayLogo);
+            r.setHomeScore(homeScore);
+            r.setAwayScore(awayScore);
+            r.setMatchDate(date);
+            r.setMatchStatus(status);
+        } else if (dto instanceof BetViewAllDTO) {
+            BetViewAllDTO v = (BetViewAllDTO) dto;
+            v.setHomeTeam(homeName);
+            v.setHomeTeamLogo(homeLogo);
+            v.setAwayTeam(awayName);
+            v.setAwayTeamLogo(awayLogo);
+            v.setHomeScore(homeScore);
+            v.setAwayScore(awayScore);
             
-            String date = fixtureNode.path("date").asText("");
-            String status = fixtureNode.path("status").path("short").asText("");
-
-            if (dto instanceof BetResponseDTO) {
-                BetResponseDTO r = (BetResponseDTO) dto;
-                r.setHomeTeam(homeName);
-                r.setHomeTeamLogo(homeLogo);
-                r.setAwayTeam(awayName);
-                r.setAwayTeamLogo(awayLogo);
-                r.setHomeScore(homeScore);
-                r.setAwayScore(awayScore);
-                r.setMatchDate(date);
-                r.setMatchStatus(status);
-            } else if (dto instanceof BetViewAllDTO) {
-                BetViewAllDTO v = (BetViewAllDTO) dto;
-                v.setHomeTeam(homeName);
-                v.setHomeTeamLogo(homeLogo);
-                v.setAwayTeam(awayName);
-                v.setAwayTeamLogo(awayLogo);
-                v.setHomeScore(homeScore);
-                v.setAwayScore(awayScore);
-                
-                v.setMatchDate(date); 
-                v.setMatchStatus(status);
-            }
-
-        } catch (Exception e) {
-            log.error("Failed to parse fixture JSON for bet enrichment", e);
+            v.setMatchDate(date); 
+            v.setMatchStatus(status);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.example.FYP.Api.Service;
+
+import com.example.FYP.Api.Model.RenderedFeed;
+import com.example.FYP.Api.Model.View.FixtureViewDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Versioned cache for the public fixture feed, held as pre-serialized bytes.
+ * Entries are keyed by caller view (admin / public) and day, and are only dropped
+ * when a fixture inside the feed's date window changes. The data version lets a
+ * loader detect that a change raced with it so a stale result is never stored.
+ */
+@Component
+@Slf4j
+public class FixtureFeedCache {
+
+    public static final String CACHE_NAME = "publicFixtures";
+
+    private static final int WINDOW_DAYS_BEFORE = 1;
+    private static final int WINDOW_DAYS_AFTER = 7;
+
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong allVersion = new AtomicLong(System.currentTimeMillis());
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Timer renderTimer;
+
+    public FixtureFeedCache(CacheManager cacheManager, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.hits = Counter.builder("fixtures.public.cache")
+                .description("Public fixture feed cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("fixtures.public.cache")
+                .description("Public fixture feed cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("fixtures.public.cache.evictions")
+                .description("Public fixture feed invalidations caused by fixture changes")
+                .register(meterRegistry);
+        this.renderTimer = Timer.builder("fixtures.public.feed.render")
+                .description("Time to serialize and gzip the public fixture feed on a cache miss")
+                .register(meterRegistry);
+    }
+
+    public long currentVersion() {
+        return version.get();
+    }
+
+    /**
+     * Data version of the full fixture listing; moves on every fixture change,
+     * including ones outside the public feed's date window.
+     */
+    public long currentAllVersion() {
+        return allVersion.get();
+    }
+
+    /**
+     * Strong ETag for the full fixture listing as seen by the given caller view.
+     */
+    public String allETag(boolean isAdmin) {
+        return "\"" + (isAdmin ? "admin" : "public") + "-all-" + allVersion.get() + "\"";
+    }
+
+    /**
+     * Strong ETag of the feed for the current data version. A feed rendered from this
+     * version carries the same tag, so a matching If-None-Match needs no load.
+     */
+    public String currentETag(boolean isAdmin, LocalDate today) {
+        return eTag(key(isAdmin, today), version.get());
+    }
+
+    /**
+     * Returns the feed already serialized, rendering it at most once per data version.
+     */
+    public RenderedFeed get(boolean isAdmin, LocalDate today, Supplier<List<FixtureViewDTO>> loader) {
+        Cache cache = cache();
+        String key = key(isAdmin, today);
+
+        RenderedFeed cached = cache.get(key, RenderedFeed.class);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        long loadedAt = version.get();
+        List<FixtureViewDTO> fixtures = loader.get();
+
+        long start = System.nanoTime();
+        // The ETag carries the version read before loading, so it never claims newer data than the body holds.
+        RenderedFeed feed = RenderedFeed.render(objectMapper, fixtures, eTag(key, loadedAt));
+        renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Rendered {} feed: {} fixtures, {} bytes, {} bytes gzipped",
+                key, fixtures.size(), feed.getJson().length, feed.getGzipped().length);
+
+        if (version.get() == loadedAt) {
+            cache.put(key, feed);
+        }
+        return feed;
+    }
+
+    /**
+     * Moves the full listing's version and drops the cached feed if any of the given
+     * kickoffs fall inside its date window. The version moves before the cache is cleared,
+     * so a load that started before the change can never be stored after the clear.
+     */
+    public void onFixturesChanged(Collection<Instant> kickoffs) {
+        if (kickoffs.isEmpty()) {
+            return;
+        }
+
+        allVersion.incrementAndGet();
+        if (kickoffs.stream().noneMatch(this::isInWindow)) {
+            return;
+        }
+
+        long newVersion = version.incrementAndGet();
+        cache().clear();
+        evictions.increment();
+        log.debug("Public fixture feed invalidated, data version {}", newVersion);
+    }
+
+    /**
+     * Bet counters only show up un-cached in the full listing, so only its version moves.
+     */
+    public void onBetCountsChanged() {
+        allVersion.incrementAndGet();
+    }
+
+    public boolean isInWindow(Instant kickoff) {
+        if (kickoff == null) {
+            return true;
+        }
+        LocalDate today = LocalDate.now();
+        return !kickoff.isBefore(windowStart(today)) && kickoff.isBefore(windowEnd(today));
+    }
+
+    /**
+     * Inclusive start of the feed's date window for the given day.
+     */
+    public Instant windowStart(LocalDate today) {
+        return today.minusDays(WINDOW_DAYS_BEFORE).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    /**
+     * Exclusive end of the feed's date window for the given day.
+     */
+    public Instant windowEnd(LocalDate today) {
+        return today.plusDays(WINDOW_DAYS_AFTER + 1).atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static String eTag(String key, long dataVersion) {
+        return "\"" + key.replace(':', '-') + "-" + dataVersion + "\"";
+    }
+
+    private String key(boolean isAdmin, LocalDate today) {
+        return (isAdmin ? "admin:" : "public:") + today;
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CACHE_NAME);
+    }
+}
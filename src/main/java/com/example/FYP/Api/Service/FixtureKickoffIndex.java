@@ -0,0 +1,133 @@
+package com.example.FYP.Api.Service;
+
+import com.example.FYP.Api.Model.FixtureIndexEntry;
+import com.example.FYP.Api.Repository.FixtureRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * In-memory index of every fixture ordered by kickoff, with its visibility flag
+ * kept alongside, so date-window listings are a range scan instead of a table scan.
+ * Reads are lock-free; writes come from the change listener and are serialized.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FixtureKickoffIndex {
+
+    private static final Comparator<FixtureIndexEntry> BY_KICKOFF = Comparator
+            .comparing(FixtureIndexEntry::kickoffAt)
+            .thenComparing(FixtureIndexEntry::id);
+
+    private final FixtureRepository fixtureRepository;
+
+    private final NavigableSet<FixtureIndexEntry> byKickoff = new ConcurrentSkipListSet<>(BY_KICKOFF);
+    private final Map<Long, FixtureIndexEntry> byId = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void load() {
+        long startedAt = System.currentTimeMillis();
+        List<FixtureIndexEntry> entries = fixtureRepository.findAllIndexEntries();
+
+        synchronized (this) {
+            for (FixtureIndexEntry entry : entries) {
+                // Entries refreshed by a change event while loading are newer than this snapshot.
+                if (byId.putIfAbsent(entry.id(), entry) == null) {
+                    byKickoff.add(entry);
+                }
+            }
+        }
+        ready = true;
+
+        log.info("Fixture kickoff index loaded with {} fixtures in {} ms",
+                byId.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Reloads the given fixtures from the database and re-positions them in the index.
+     * Returns the kickoffs the fixtures were indexed under before the refresh.
+     */
+    public List<Instant> refresh(Collection<Long> fixtureIds) {
+        List<Instant> previousKickoffs = new ArrayList<>();
+        if (fixtureIds.isEmpty()) {
+            return previousKickoffs;
+        }
+
+        List<FixtureIndexEntry> fresh = fixtureRepository.findIndexEntriesByIds(fixtureIds);
+        Set<Long> missing = new HashSet<>(fixtureIds);
+
+        synchronized (this) {
+            for (FixtureIndexEntry entry : fresh) {
+                missing.remove(entry.id());
+                addKickoff(previousKickoffs, put(entry));
+            }
+            for (Long id : missing) {
+                addKickoff(previousKickoffs, remove(id));
+            }
+        }
+        return previousKickoffs;
+    }
+
+    /**
+     * Ids of the fixtures kicking off in [from, to), in kickoff order.
+     */
+    public List<Long> findIds(Instant from, Instant to, boolean visibleOnly) {
+        FixtureIndexEntry lower = new FixtureIndexEntry(Long.MIN_VALUE, from, null);
+        FixtureIndexEntry upper = new FixtureIndexEntry(Long.MIN_VALUE, to, null);
+
+        List<Long> ids = new ArrayList<>();
+        for (FixtureIndexEntry entry : byKickoff.subSet(lower, true, upper, false)) {
+            if (!visibleOnly || Boolean.TRUE.equals(entry.showMatch())) {
+                ids.add(entry.id());
+            }
+        }
+        return ids;
+    }
+
+    private FixtureIndexEntry put(FixtureIndexEntry entry) {
+        FixtureIndexEntry previous = byId.put(entry.id(), entry);
+        if (previous != null && previous.kickoffAt() != null) {
+            byKickoff.remove(previous);
+        }
+        if (entry.kickoffAt() != null) {
+            byKickoff.add(entry);
+        }
+        return previous;
+    }
+
+    private FixtureIndexEntry remove(Long id) {
+        FixtureIndexEntry previous = byId.remove(id);
+        if (previous != null && previous.kickoffAt() != null) {
+            byKickoff.remove(previous);
+        }
+        return previous;
+    }
+
+    private static void addKickoff(List<Instant> kickoffs, FixtureIndexEntry previous) {
+        if (previous != null && previous.kickoffAt() != null) {
+            kickoffs.add(previous.kickoffAt());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.FYP.Api.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Priority queue of unfinished fixtures keyed by when each one is next due for an upstream check.
+ * The interval follows the match state: tight while the ball is in play, slower during breaks
+ * and before kickoff, and the fixture leaves the queue once it is finished.
+ * Rescheduling leaves the old queue entry behind; it is skipped when it surfaces.
+ */
+@Component
+public class FixturePollSchedule {
+
+    public static final Set<String> FINISHED_STATUSES = Set.of("FT", "AET", "PEN", "PST", "CANC", "ABD", "AWD", "WO");
+
+    private static final Set<String> IN_PLAY_STATUSES = Set.of("1H", "2H", "ET", "P", "LIVE");
+    private static final Set<String> BREAK_STATUSES = Set.of("HT", "BT");
+    private static final Set<String> INTERRUPTED_STATUSES = Set.of("INT", "SUSP");
+
+    private static final Duration IN_PLAY_INTERVAL = Duration.ofSeconds(15);
+    private static final Duration BREAK_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration INTERRUPTED_INTERVAL = Duration.ofMinutes(5);
+    private static final Duration LATE_KICKOFF_INTERVAL = Duration.ofMinutes(1);
+    private static final Duration STALE_INTERVAL = Duration.ofMinutes(30);
+    private static final Duration STALE_AFTER = Duration.ofHours(3);
+
+    private record Entry(Long fixtureId, Instant dueAt) {}
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(Comparator.comparing(Entry::dueAt));
+    private final Map<Long, Instant> dueById = new HashMap<>();
+
+    public FixturePollSchedule(MeterRegistry meterRegistry) {
+        Gauge.builder("fixtures.resolve.scheduled", this, FixturePollSchedule::size)
+                .description("Unfinished fixtures tracked by the resolve job's poll schedule")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Whether the upstream live snapshot lists fixtures in this status.
+     */
+    public static boolean isLive(String status) {
+        return status != null && (IN_PLAY_STATUSES.contains(status)
+                || BREAK_STATUSES.contains(status)
+                || INTERRUPTED_STATUSES.contains(status));
+    }
+
+    /**
+     * When the fixture should next be checked upstream, or null once it can no longer change.
+     */
+    public static Instant nextCheck(String status, Instant kickoffAt, Instant now) {
+        if (status != null && FINISHED_STATUSES.contains(status)) {
+            return null;
+        }
+        if (status != null && IN_PLAY_STATUSES.contains(status)) {
+            return now.plus(IN_PLAY_INTERVAL);
+        }
+        if (status != null && BREAK_STATUSES.contains(status)) {
+            return now.plus(BREAK_INTERVAL);
+        }
+        if (status != null && INTERRUPTED_STATUSES.contains(status)) {
+            return now.plus(INTERRUPTED_INTERVAL);
+        }
+
+        // Not started (or unknown): wait for kickoff, then keep checking until it starts.
+        if (kickoffAt == null) {
+            return now.plus(LATE_KICKOFF_INTERVAL);
+        }
+        if (kickoffAt.isAfter(now)) {
+            return kickoffAt;
+        }
+        if (kickoffAt.plus(STALE_AFTER).isBefore(now)) {
+            return now.plus(STALE_INTERVAL);
+        }
+        return now.plus(LATE_KICKOFF_INTERVAL);
+    }
+
+    public synchronized boolean scheduleIfAbsent(Long fixtureId, Instant dueAt) {
+        if (dueById.containsKey(fixtureId)) {
+            return false;
+        }
+        schedule(fixtureId, dueAt);
+        return true;
+    }
+
+    public synchronized void schedule(Long fixtureId, Instant dueAt) {
+        if (dueAt == null) {
+            dueById.remove(fixtureId);
+            return;
+        }
+        dueById.put(fixtureId, dueAt);
+        queue.add(new Entry(fixtureId, dueAt));
+    }
+
+    /**
+     * Removes and returns up to {@code limit} fixtures whose check is due. Callers must
+     * {@link #schedule} each one again, or it drops out of the schedule.
+     */
+    public synchronized List<Long> pollDue(Instant now, int limit) {
+        List<Long> due = new ArrayList<>();
+        while (due.size() < limit && !queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+            Entry entry = queue.poll();
+            if (entry.dueAt().equals(dueById.get(entry.fixtureId()))) {
+                dueById.remove(entry.fixtureId());
+                due.add(entry.fixtureId());
+            }
+        }
+        return due;
+    }
+
+    public synchronized int size() {
+        return dueById.size();
+    }
+}
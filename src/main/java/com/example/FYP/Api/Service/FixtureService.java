@@ -5,33 +5,38 @@ import com.example.FYP.Api.Entity.Fixture;
 import com.example.FYP.Api.Entity.MatchPredictionSettings;
 import com.example.FYP.Api.Entity.MatchSettings;
 import com.example.FYP.Api.Entity.User;
+import com.example.FYP.Api.Event.FixturesChangedEvent;
 import com.example.FYP.Api.Mapper.FixtureMapper;
 import com.example.FYP.Api.Model.Constant.Role;
 import com.example.FYP.Api.Security.SecurityContext;
+import com.example.FYP.Api.Specification.FixtureSpecification;
+import com.example.FYP.Api.Util.CursorPagedResponse;
+import com.example.FYP.Api.Model.Filter.FixtureFilterDTO;
+import com.example.FYP.Api.Model.FixtureCursor;
 import com.example.FYP.Api.Model.Patch.MatchPredictionSettingsPatchDTO;
+import com.example.FYP.Api.Model.RenderedFeed;
 import com.example.FYP.Api.Model.Patch.MatchSettingsPatchDTO;
 import com.example.FYP.Api.Model.View.FixtureViewDTO;
 import com.example.FYP.Api.Model.View.UserBettingOnFixtureDTO;
 import com.example.FYP.Api.Model.View.UserViewDTO;
 import com.example.FYP.Api.Repository.FixtureRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,22 +47,23 @@ public class FixtureService {
     private final FixtureRepository fixtureRepository;
     private final ModelMapper modelMapper;
     private final FixtureMapper fixtureMapper;
-    private final ObjectMapper objectMapper;
     private final SecurityContext securityContext;
+    private final FixtureFeedCache fixtureFeedCache;
+    private final FixtureKickoffIndex fixtureKickoffIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
+    private static final int DEFAULT_QUERY_PAGE_SIZE = 50;
+    private static final int MAX_QUERY_PAGE_SIZE = 200;
+
+    /**
+     * The complete listing behind the admin fixture table. It stays a full scan because that
+     * table shows every fixture at once; clients that want pages use {@link #queryFixtures},
+     * and the listing's ETag spares repeat reads. Settings are fetched in the same query.
+     */
     public List<FixtureViewDTO> getAllFixtures() {
-        boolean isAdmin = false;
-        try {
-            User currentUser = securityContext.getCurrentUser();
-            isAdmin = currentUser.getRoles().stream()
-                    .anyMatch(role -> role.getRole() == Role.ADMIN);
-        } catch (Exception e) {
-            log.debug("User not authenticated or not found, treating as non-admin");
-        }
-        
-        final boolean finalIsAdmin = isAdmin;
+        final boolean finalIsAdmin = isCurrentUserAdmin();
         
-        return fixtureRepository.findAll().stream()
+        return fixtureRepository.findAllWithSettings().stream()
                 .filter(fixture -> {
                     if (finalIsAdmin) {
                         return true;
@@ -73,66 +79,82 @@ public class FixtureService {
                 .toList();
     }
 
-    @Cacheable(value = "publicFixtures")
-    public List<FixtureViewDTO> getPublicFixtures() {
-        log.info("Fetching public fixtures from database (cache miss)");
-        
-        boolean isAdmin = false;
-        try {
-            User currentUser = securityContext.getCurrentUser();
-            isAdmin = currentUser.getRoles().stream()
-                    .anyMatch(role -> role.getRole() == Role.ADMIN);
-        } catch (Exception e) {
-            log.debug("User not authenticated or not found in getPublicFixtures, treating as non-admin");
-        }
-        
-        final boolean finalIsAdmin = isAdmin;
+    public RenderedFeed getPublicFixtures() {
+        final boolean finalIsAdmin = isCurrentUserAdmin();
         LocalDate today = LocalDate.now();
-        LocalDate weekFromNow = today.plusDays(7);
-        
-        return fixtureRepository.findAll().stream()
-                .filter(fixture -> {
-                    if (finalIsAdmin) {
-                        return true;
-                    }
-                    
-                    if (fixture.getMatchSettings() == null || 
-                        !Boolean.TRUE.equals(fixture.getMatchSettings().getShowMatch())) {
-                        return false;
-                    }
-                    
-                    return true;
-                })
-                .filter(fixture -> {
-                    try {
-                        JsonNode rawJson = objectMapper.readTree(fixture.getRawJson());
-                        String dateStr = rawJson.path("fixture").path("date").asText();
-                        if (dateStr == null || dateStr.isEmpty()) return false;
-                        
-                        Instant instant = Instant.parse(dateStr);
-                        LocalDate fixtureDate = instant.atZone(ZoneId.systemDefault()).toLocalDate();
-                        
-                        return !fixtureDate.isBefore(today.minusDays(1)) && !fixtureDate.isAfter(weekFromNow);
-                    } catch (Exception e) {
-                        log.warn("Failed to parse fixture date: {}", e.getMessage());
-                        return false;
-                    }
-                })
-                .sorted((f1, f2) -> {
-                    try {
-                        JsonNode json1 = objectMapper.readTree(f1.getRawJson());
-                        JsonNode json2 = objectMapper.readTree(f2.getRawJson());
-                        String date1 = json1.path("fixture").path("date").asText();
-                        String date2 = json2.path("fixture").path("date").asText();
-                        return date1.compareTo(date2);
-                    } catch (Exception e) {
-                        return 0;
-                    }
-                })
+
+        return fixtureFeedCache.get(finalIsAdmin, today, () -> loadPublicFixtures(finalIsAdmin, today));
+    }
+
+    public String getAllFixturesETag() {
+        return fixtureFeedCache.allETag(isCurrentUserAdmin());
+    }
+
+    /**
+     * ETag the public feed has for the caller right now, worked out without loading anything
+     * so a conditional request can be answered 304 before the feed is touched.
+     */
+    public String getPublicFixturesETag() {
+        return fixtureFeedCache.currentETag(isCurrentUserAdmin(), LocalDate.now());
+    }
+
+    // Read from the token's authorities so that 304 checks never query the user table.
+    private boolean isCurrentUserAdmin() {
+        return securityContext.hasAuthority(Role.ADMIN.name());
+    }
+
+    private List<FixtureViewDTO> loadPublicFixtures(boolean isAdmin, LocalDate today) {
+        Instant from = fixtureFeedCache.windowStart(today);
+        Instant to = fixtureFeedCache.windowEnd(today);
+
+        if (!fixtureKickoffIndex.isReady()) {
+            log.info("Fetching public fixtures from database (cache miss, kickoff index not loaded yet)");
+            return fixtureRepository.findWithSettingsKickingOffBetween(from, to)
+                    .stream()
+                    .filter(fixture -> isAdmin || (fixture.getMatchSettings() != null
+                            && Boolean.TRUE.equals(fixture.getMatchSettings().getShowMatch())))
+                    .map(fixtureMapper::toDTO)
+                    .toList();
+        }
+
+        log.info("Fetching public fixtures from kickoff index (cache miss)");
+
+        List<Long> ids = fixtureKickoffIndex.findIds(from, to, !isAdmin);
+        Map<Long, Fixture> fixturesById = fixtureRepository.findAllWithSettingsByIds(ids).stream()
+                .collect(Collectors.toMap(Fixture::getId, Function.identity()));
+
+        return ids.stream()
+                .map(fixturesById::get)
+                .filter(Objects::nonNull)
                 .map(fixtureMapper::toDTO)
                 .toList();
     }
 
+    /**
+     * One page of fixtures in (kickoff, id) order, starting after the given cursor.
+     * Reads one extra row to know whether another page follows; never counts the table.
+     */
+    @Transactional(readOnly = true)
+    public CursorPagedResponse<FixtureViewDTO> queryFixtures(FixtureFilterDTO filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_QUERY_PAGE_SIZE : Math.max(1, Math.min(size, MAX_QUERY_PAGE_SIZE));
+        FixtureCursor after = cursor == null || cursor.isBlank() ? null : FixtureCursor.decode(cursor);
+
+        List<Fixture> rows = fixtureRepository.findBy(
+                FixtureSpecification.matching(filter, !isCurrentUserAdmin(), after),
+                query -> query.sortBy(Sort.by("kickoffAt", "id")).limit(pageSize + 1).all()
+        );
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Fixture> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Fixture last = page.get(page.size() - 1);
+            nextCursor = new FixtureCursor(last.getKickoffAt(), last.getId()).encode();
+        }
+
+        return new CursorPagedResponse<>(fixtureMapper.toDTOs(page), pageSize, nextCursor, hasNext);
+    }
+
     public void patchMatchSettings(Long fixtureId, MatchSettingsPatchDTO patchDTO) {
         Fixture fixture = fixtureRepository.findById(fixtureId)
                 .orElseThrow(() -> new EntityNotFoundException("Fixture not found: " + fixtureId));
@@ -145,6 +167,8 @@ public class FixtureService {
         modelMapper.map(patchDTO, fixture.getMatchSettings());
 
         fixtureRepository.save(fixture);
+        eventPublisher.publishEvent(new FixturesChangedEvent(
+                Collections.singletonMap(fixture.getId(), fixture.getKickoffAt())));
     }
 
     public void patchMatchPredictionSettings(Long fixtureId, MatchPredictionSettingsPatchDTO patchDTO) {
@@ -159,6 +183,8 @@ public class FixtureService {
         modelMapper.map(patchDTO, fixture.getMatchPredictionSettings());
 
         fixtureRepository.save(fixture);
+        eventPublisher.publishEvent(new FixturesChangedEvent(
+                Collections.singletonMap(fixture.getId(), fixture.getKickoffAt())));
     }
 
     public FixtureViewDTO.MatchSettingsView getMatchSettings(Long fixtureId) {
@@ -199,6 +225,7 @@ public class FixtureService {
         return modelMapper.map(matchPredictionSettings, FixtureViewDTO.MatchPredictionSettingsView.class);
     }
 
+    @Transactional(readOnly = true)
     public List<UserBettingOnFixtureDTO> getUsersBettingOnFixture(Long fixtureId) {
         Fixture fixture = fixtureRepository.findById(fixtureId)
                 .orElseThrow(() -> new EntityNotFoundException("Fixture not found: " + fixtureId));
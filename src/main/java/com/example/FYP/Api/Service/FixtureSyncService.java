@@ -3,17 +3,39 @@ package com.example.FYP.Api.Service;
 import com.example.FYP.Api.Entity.Fixture;
 import com.example.FYP.Api.Entity.MatchPredictionSettings;
 import com.example.FYP.Api.Entity.MatchSettings;
+import com.example.FYP.Api.Event.FixturesChangedEvent;
 import com.example.FYP.Api.Repository.FixtureRepository;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.Optional;
-import java.util.Set;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
@@ -23,94 +45,279 @@ public class FixtureSyncService {
     private final FootBallService footBallService;
     private final FixtureRepository fixtureRepository;
     private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${fixtures.raw-json.compression.enabled:false}")
+    private boolean compressRawJson;
+
+    private TransactionTemplate chunkTransaction;
+    private Timer syncTimer;
+    private DistributionSummary parseThroughput;
+    private Counter writtenRows;
+    private Counter skippedRows;
     
-    private static final Set<String> FINISHED_STATUSES = Set.of("FT", "AET", "PEN", "PST", "CANC", "ABD", "AWD", "WO");
+    private static final int UPSERT_CHUNK_SIZE = 500;
 
-    @Transactional
-    @CacheEvict(value = "publicFixtures", allEntries = true)
+    @PostConstruct
+    void initMetrics() {
+        log.info("Fixture rawJson storage: {}", compressRawJson ? "deflate compressed" : "plain text");
+        chunkTransaction = new TransactionTemplate(transactionManager);
+        syncTimer = Timer.builder("fixtures.sync.duration")
+                .description("Time taken to fetch, parse and upsert one day of fixtures")
+                .register(meterRegistry);
+        parseThroughput = DistributionSummary.builder("fixtures.sync.parse.throughput")
+                .description("Fixtures parsed per second during a day sync")
+                .baseUnit("fixtures/s")
+                .register(meterRegistry);
+        writtenRows = Counter.builder("fixtures.sync.rows")
+                .description("Fixture rows processed by the day sync")
+                .tag("result", "written")
+                .register(meterRegistry);
+        skippedRows = Counter.builder("fixtures.sync.rows")
+                .description("Fixture rows processed by the day sync")
+                .tag("result", "skipped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Not transactional as a whole: the upstream wait and download happen outside any
+     * transaction and each upsert chunk commits on its own, so a DB connection is only held
+     * while a chunk is written.
+     */
     public void syncFixtures(String date) {
-        String json = footBallService.getFixturesByDate(date);
+        long startedAt = System.nanoTime();
+        SyncStats stats = new SyncStats();
 
         try {
-            JsonNode root = objectMapper.readTree(json);
-            JsonNode response = root.get("response");
-            
-            if (response == null || !response.isArray()) {
+            footBallService.streamFixturesByDate(date, body -> ingest(body, date, stats));
+
+            long elapsedNanos = System.nanoTime() - startedAt;
+            double elapsedSeconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+            double fixturesPerSecond = stats.parsed / elapsedSeconds;
+
+            syncTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            parseThroughput.record(fixturesPerSecond);
+
+            writtenRows.increment(stats.newCount + stats.updatedCount);
+            skippedRows.increment(stats.skippedCount);
+
+            log.info("Fixture sync for {}: {} written ({} new, {} updated), {} unchanged skipped, {} finished; "
+                            + "parsed {} fixtures ({} KB) in {} ms ({} fixtures/s)",
+                    date, stats.newCount + stats.updatedCount, stats.newCount, stats.updatedCount,
+                    stats.skippedCount, stats.finishedCount,
+                    stats.parsed, stats.bytes / 1024, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                    Math.round(fixturesPerSecond));
+
+        } catch (Exception e) {
+            log.error("Failed to sync fixtures for date {}", date, e);
+            throw new RuntimeException(e);
+        } finally {
+            // Chunks written before a failure are committed, so their changes are announced either way.
+            if (!stats.changedKickoffs.isEmpty()) {
+                eventPublisher.publishEvent(new FixturesChangedEvent(stats.changedKickoffs));
+            }
+        }
+    }
+
+    /**
+     * Walks the upstream payload with a streaming parser and upserts the "response" array in
+     * chunks of {@link #UPSERT_CHUNK_SIZE}, so at most one chunk of fixture trees is held in
+     * memory regardless of the size of the day.
+     */
+    private SyncStats ingest(InputStream body, String date, SyncStats stats) throws IOException {
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (!seekToResponseArray(parser)) {
                 log.warn("No response array in API data for date {}", date);
-                return;
+                return stats;
             }
 
-            int newCount = 0;
-            int updatedCount = 0;
-            int finishedCount = 0;
-
-            for (JsonNode matchNode : response) {
-                Long fixtureId = matchNode.path("fixture").path("id").asLong();
-                String newStatus = matchNode.path("fixture").path("status").path("short").asText();
-                
-                if (fixtureId == 0) {
-                    log.warn("Skipping fixture with invalid ID");
-                    continue;
+            List<JsonNode> chunk = new ArrayList<>(UPSERT_CHUNK_SIZE);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                chunk.add(objectMapper.readTree(parser));
+                stats.parsed++;
+                if (chunk.size() == UPSERT_CHUNK_SIZE) {
+                    chunkTransaction.executeWithoutResult(tx -> upsertChunk(chunk, stats));
+                    chunk.clear();
                 }
+            }
+            if (!chunk.isEmpty()) {
+                chunkTransaction.executeWithoutResult(tx -> upsertChunk(chunk, stats));
+            }
+
+            stats.bytes = parser.getCurrentLocation().getByteOffset();
+        }
+
+        return stats;
+    }
+
+    private boolean seekToResponseArray(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return false;
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("response".equals(field) && value == JsonToken.START_ARRAY) {
+                return true;
+            }
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * Loads the existing rows for a chunk in one query, skips fixtures whose document
+     * hash is unchanged and writes the rest together so Hibernate can batch them.
+     */
+    private void upsertChunk(List<JsonNode> chunk, SyncStats stats) {
+        Map<Long, JsonNode> nodesById = new LinkedHashMap<>();
+        for (JsonNode matchNode : chunk) {
+            Long fixtureId = matchNode.path("fixture").path("id").asLong();
+            if (fixtureId == 0) {
+                log.warn("Skipping fixture with invalid ID");
+                continue;
+            }
+            nodesById.put(fixtureId, matchNode);
+        }
+
+        Map<Long, Fixture> existingById = new HashMap<>();
+        for (Fixture fixture : fixtureRepository.findAllById(nodesById.keySet())) {
+            existingById.put(fixture.getId(), fixture);
+        }
+
+        List<Fixture> toWrite = new ArrayList<>();
+        nodesById.forEach((fixtureId, matchNode) -> {
+            String rawJson = matchNode.toString();
+            String newStatus = matchNode.path("fixture").path("status").path("short").asText();
+            Fixture fixture = existingById.get(fixtureId);
+
+            if (fixture == null) {
+                boolean isFinished = FixturePollSchedule.FINISHED_STATUSES.contains(newStatus);
 
-                Optional<Fixture> existingFixtureOpt = fixtureRepository.findById(fixtureId);
-                
-                if (existingFixtureOpt.isPresent()) {
-                    Fixture fixture = existingFixtureOpt.get();
-                    
-                    String oldStatus = "";
-                    try {
-                        JsonNode oldJson = objectMapper.readTree(fixture.getRawJson());
-                        oldStatus = oldJson.path("fixture").path("status").path("short").asText();
-                    } catch (Exception e) {
-                        log.warn("Could not parse old status for fixture {}", fixtureId);
-                    }
-                    
-                    fixture.setRawJson(matchNode.toString());
-                    
-                    if (fixture.getMatchSettings() == null) {
-                        fixture.setMatchSettings(MatchSettings.builder()
-                                .allowBetting(true)
+                fixture = Fixture.builder()
+                        .id(fixtureId)
+                        .matchSettings(MatchSettings.builder()
+                                .allowBetting(!isFinished)
                                 .allowBettingHT(false)
                                 .showMatch(true)
-                                .build());
-                    }
-                    
-                    if (!oldStatus.equals(newStatus) && FINISHED_STATUSES.contains(newStatus)) {
-                        fixture.getMatchSettings().setAllowBetting(false);
-                        fixture.getMatchSettings().setAllowBettingHT(false);
-                        finishedCount++;
-                        log.info("Fixture {} finished ({} -> {}), betting disabled", 
-                                fixtureId, oldStatus, newStatus);
-                    }
-                    
-                    fixtureRepository.save(fixture);
-                    updatedCount++;
-                } else {
-                    boolean isFinished = FINISHED_STATUSES.contains(newStatus);
-                    
-                    Fixture fixture = Fixture.builder()
-                            .id(fixtureId)
-                            .rawJson(matchNode.toString())
-                            .matchSettings(MatchSettings.builder()
-                                    .allowBetting(!isFinished)
-                                    .allowBettingHT(false)
-                                    .showMatch(true)
-                                    .build())
-                            .matchPredictionSettings(defaultPredictionSettings())
-                            .build();
-                    fixtureRepository.save(fixture);
-                    newCount++;
-                }
+                                .build())
+                        .matchPredictionSettings(defaultPredictionSettings())
+                        .build();
+                fixture.applyRawJson(rawJson, matchNode, compressRawJson);
+                toWrite.add(fixture);
+                stats.newCount++;
+                return;
             }
 
-            log.info("Fixture sync for {}: {} new, {} updated, {} finished", 
-                    date, newCount, updatedCount, finishedCount);
+            if (Fixture.hashOf(rawJson).equals(fixture.getRawJsonHash()) && fixture.getMatchSettings() != null) {
+                stats.skippedCount++;
+                return;
+            }
 
-        } catch (Exception e) {
-            log.error("Failed to sync fixtures for date {}", date, e);
-            throw new RuntimeException(e);
+            String oldStatus = Objects.toString(fixture.getStatusShort(), "");
+
+            fixture.applyRawJson(rawJson, matchNode, compressRawJson);
+
+            if (fixture.getMatchSettings() == null) {
+                fixture.setMatchSettings(MatchSettings.builder()
+                        .allowBetting(true)
+                        .allowBettingHT(false)
+                        .showMatch(true)
+                        .build());
+            }
+
+            if (!oldStatus.equals(newStatus) && FixturePollSchedule.FINISHED_STATUSES.contains(newStatus)) {
+                fixture.getMatchSettings().setAllowBetting(false);
+                fixture.getMatchSettings().setAllowBettingHT(false);
+                stats.finishedCount++;
+                log.info("Fixture {} finished ({} -> {}), betting disabled",
+                        fixtureId, oldStatus, newStatus);
+            }
+
+            toWrite.add(fixture);
+            stats.updatedCount++;
+        });
+
+        fixtureRepository.saveAll(toWrite);
+        for (Fixture fixture : toWrite) {
+            stats.changedKickoffs.put(fixture.getId(), fixture.getKickoffAt());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * Populates the indexed columns for fixtures stored before they existed.
+     * Returns the last processed id, or null once there is nothing left to backfill.
+     */
+    @Transactional
+    public Long backfillIndexedColumns(Long afterId, int batchSize) {
+        List<Fixture> batch = fixtureRepository.findUnindexedFixturesAfter(afterId, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return null;
+        }
+
+        for (Fixture fixture : batch) {
+            try {
+                fixture.applyRawJson(objectMapper.readTree(fixture.getRawJson()), fixture.isRawJsonCompressed());
+            } catch (Exception e) {
+                log.warn("Could not backfill indexed columns for fixture {}: {}", fixture.getId(), e.getMessage());
+            }
         }
+        fixtureRepository.saveAll(batch);
+
+        Map<Long, Instant> kickoffsById = new HashMap<>();
+        for (Fixture fixture : batch) {
+            kickoffsById.put(fixture.getId(), fixture.getKickoffAt());
+        }
+        eventPublisher.publishEvent(new FixturesChangedEvent(kickoffsById));
+
+        return batch.get(batch.size() - 1).getId();
+    }
+
+    /**
+     * Whether fixture documents written from now on are stored deflated.
+     */
+    public boolean isRawJsonCompression() {
+        return compressRawJson;
+    }
+
+    /**
+     * Rewrites a batch of plain-text documents in compressed form. Returns the byte sizes
+     * before and after, or null once every row is compressed.
+     */
+    @Transactional
+    public CompressionBatch compressStoredRawJson(Long afterId, int batchSize) {
+        List<Fixture> batch = fixtureRepository.findUncompressedFixturesAfter(afterId, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return null;
+        }
+
+        long plainBytes = 0;
+        long compressedBytes = 0;
+        for (Fixture fixture : batch) {
+            String rawJson = fixture.getRawJson();
+            plainBytes += rawJson.getBytes(StandardCharsets.UTF_8).length;
+            fixture.setRawJson(rawJson, true);
+            compressedBytes += fixture.getRawJsonDeflatedSize();
+        }
+        fixtureRepository.saveAll(batch);
+
+        return new CompressionBatch(batch.get(batch.size() - 1).getId(), batch.size(), plainBytes, compressedBytes);
+    }
+
+    public record CompressionBatch(Long lastId, int rows, long plainBytes, long compressedBytes) {}
+
+    /**
+     * Brings fixtures.bet_count in line with the bet table, for rows that predate the column.
+     */
+    public int reconcileBetCounts() {
+        return fixtureRepository.reconcileBetCounts();
     }
 
     private MatchPredictionSettings defaultPredictionSettings() {
@@ -123,4 +330,14 @@ public class FixtureSyncService {
                 .scorePrediction(false)
                 .build();
     }
+
+    private static class SyncStats {
+        private int parsed;
+        private int newCount;
+        private int updatedCount;
+        private int skippedCount;
+        private int finishedCount;
+        private long bytes;
+        private final Map<Long, Instant> changedKickoffs = new HashMap<>();
+    }
 }
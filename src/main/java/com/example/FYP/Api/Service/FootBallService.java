@@ -1,6 +1,7 @@
 package com.example.FYP.Api.Service;
 
 import com.example.FYP.Api.Model.View.Team.CoachDTO;
+import com.example.FYP.Api.Service.UpstreamRequestScheduler.Lane;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
@@ -8,137 +9,83 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDate;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FootBallService {
 
+    public static final int MAX_IDS_PER_REQUEST = 20;
 
-    @Value("${football.api.key}")
-    private String apiKey;
-
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final FootballApiClient footballApiClient;
+    private final FootballApiCache footballApiCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public String getLiveFixtures() {
-        RestTemplate restTemplate = new RestTemplate();
-
-        String url = "https://v3.football.api-sports.io/fixtures?live=all";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.put("x-apisports-key", Collections.singletonList(apiKey));
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<String> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                String.class
-        );
-
-        return response.getBody();
+        return footballApiClient.get(Lane.SETTLEMENT, "fixtures", Map.of("live", "all"));
     }
 
     public String getFixtures() {
-        RestTemplate restTemplate = new RestTemplate();
-
         String from = LocalDate.now().toString();
 
         String to = LocalDate.now().plusDays(30).toString();
 
-        String url = "https://v3.football.api-sports.io/fixtures?from=" + from + "&to=" + to;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.put("x-apisports-key", Collections.singletonList(apiKey));
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<String> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                String.class
-        );
-
-        return response.getBody();
+        return footballApiClient.get(Lane.SYNC, "fixtures", Map.of("from", from, "to", to));
     }
 
     public String getFixturesByDate(String date) {
-        String url = "https://v3.football.api-sports.io/fixtures?date=" + date;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.put("x-apisports-key", Collections.singletonList(apiKey));
-
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
         try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    String.class
-            );
-            
-            return response.getBody();
+            return footballApiClient.get(Lane.SYNC, "fixtures", Map.of("date", date));
         } catch (Exception e) {
             log.error("Error fetching fixtures for date {}: {}", date, e.getMessage());
             return null;
         }
     }
 
-    public String getFixtureById(Long fixtureId) {
-        String url = "https://v3.football.api-sports.io/fixtures?id=" + fixtureId;
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.put("x-apisports-key", Collections.singletonList(apiKey));
+    /**
+     * Streams the fixtures-by-date response body to the handler instead of buffering it.
+     */
+    public <T> T streamFixturesByDate(String date, FootballApiClient.BodyHandler<T> handler) {
+        return footballApiClient.stream(Lane.SYNC, "fixtures", Map.of("date", date), handler);
+    }
 
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+    public String getFixtureById(Long fixtureId) {
+        String body = footballApiClient.get(Lane.SETTLEMENT, "fixtures", Map.of("id", fixtureId));
+        log.debug("Fetched fixture by ID: {}", fixtureId);
+        return body;
+    }
 
-        ResponseEntity<String> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                entity,
-                String.class
-        );
+    /**
+     * Fetches several fixtures in one call; the upstream accepts at most
+     * {@link #MAX_IDS_PER_REQUEST} ids per request.
+     */
+    public String getFixturesByIds(Collection<Long> fixtureIds) {
+        if (fixtureIds.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_REQUEST + " fixture ids per request");
+        }
+        String ids = fixtureIds.stream().map(String::valueOf).collect(Collectors.joining("-"));
 
-        log.debug("Fetched fixture by ID: {}", fixtureId);
-        return response.getBody();
+        String body = footballApiClient.get(Lane.SETTLEMENT, "fixtures", Map.of("ids", ids));
+        log.debug("Fetched {} fixtures by ID", fixtureIds.size());
+        return body;
     }
 
     public CoachDTO getCoachByTeamId(Long teamId) {
         try {
-            String url = "https://v3.football.api-sports.io/coachs?team=" + teamId;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.put("x-apisports-key", Collections.singletonList(apiKey));
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    String.class
-            );
+            String body = footballApiCache.get("coachs", Map.of("team", teamId));
 
-            if (response.getBody() == null) {
+            if (body == null) {
                 log.warn("Empty response from coach API for team ID: {}", teamId);
                 return null;
             }
 
-            JsonNode root = objectMapper.readTree(response.getBody());
+            JsonNode root = objectMapper.readTree(body);
             JsonNode responseArray = root.path("response");
 
             if (!responseArray.isArray() || responseArray.size() == 0) {
@@ -260,26 +207,14 @@ public class FootBallService {
 
     public TeamResponse getTeamInfo(Long teamId) {
         try {
-            String url = "https://v3.football.api-sports.io/teams?id=" + teamId;
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.put("x-apisports-key", Collections.singletonList(apiKey));
-
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    entity,
-                    String.class
-            );
+            String body = footballApiCache.get("teams", Map.of("id", teamId.toString()));
 
-            if (response.getBody() == null) {
+            if (body == null) {
                 log.warn("Empty response from team info API for team ID: {}", teamId);
                 return null;
             }
 
-            JsonNode root = objectMapper.readTree(response.getBody());
+            JsonNode root = objectMapper.readTree(body);
             JsonNode responseArray = root.path("response");
             
             if (!responseArray.isArray() || responseArray.size() == 0) {
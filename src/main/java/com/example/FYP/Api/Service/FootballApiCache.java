@@ -0,0 +1,89 @@
+package com.example.FYP.Api.Service;
+
+import com.example.FYP.Api.Service.UpstreamRequestScheduler.Lane;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Size-bounded, per-endpoint TTL cache of upstream response bodies for data that changes
+ * at most daily (team info, squads, coaches, trophies, season statistics).
+ * Keyed by endpoint and sorted query parameters; error answers are never cached.
+ */
+@Component
+@Slf4j
+public class FootballApiCache {
+
+    private static final Map<String, Duration> TTL_BY_ENDPOINT = Map.of(
+            "teams", Duration.ofHours(24),
+            "coachs", Duration.ofHours(24),
+            "trophies", Duration.ofHours(24),
+            "players/squads", Duration.ofHours(12),
+            "teams/statistics", Duration.ofHours(1)
+    );
+
+    private final FootballApiClient footballApiClient;
+    private final Map<String, Cache<String, String>> caches = new LinkedHashMap<>();
+
+    public FootballApiCache(FootballApiClient footballApiClient,
+                            MeterRegistry meterRegistry,
+                            @Value("${football.api.cache.max-entries:2000}") long maxEntries) {
+        this.footballApiClient = footballApiClient;
+        TTL_BY_ENDPOINT.forEach((endpoint, ttl) -> {
+            Cache<String, String> cache = Caffeine.newBuilder()
+                    .maximumSize(maxEntries)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "football.api." + endpoint.replace('/', '.'));
+            caches.put(endpoint, cache);
+        });
+    }
+
+    /**
+     * Returns the cached body, or fetches it; endpoints without a TTL are never cached.
+     */
+    public String get(String endpoint, Map<String, ?> params) {
+        Cache<String, String> cache = caches.get(endpoint);
+        if (cache == null) {
+            return footballApiClient.get(Lane.USER, endpoint, params);
+        }
+
+        String key = new TreeMap<>(params).toString();
+        String cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        String body = footballApiClient.get(Lane.USER, endpoint, params);
+        if (!FootballApiClient.isErrorBody(body)) {
+            cache.put(key, body);
+        }
+        return body;
+    }
+
+    /**
+     * Drops every cached entry of the endpoint, or of all endpoints when it is null.
+     * Returns the number of entries dropped per endpoint.
+     */
+    public Map<String, Long> purge(String endpoint) {
+        Map<String, Long> purged = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> {
+            if (endpoint == null || endpoint.equals(name)) {
+                purged.put(name, cache.estimatedSize());
+                cache.invalidateAll();
+            }
+        });
+        log.info("Purged upstream cache: {}", purged);
+        return purged;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.FYP.Api.Service;
+
+import com.example.FYP.Api.Service.UpstreamRequestScheduler.Lane;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.ResponseExtractor;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Shared entry point for API-Football: builds the request URL, adds the API key and
+ * sends it over the pooled client from FootballApiConfig once the scheduler lets its lane through.
+ */
+@Component
+public class FootballApiClient {
+
+    private static final String API_KEY_HEADER = "x-apisports-key";
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final RestTemplate restTemplate;
+    private final RestTemplate passthroughRestTemplate;
+    private final UpstreamRequestScheduler scheduler;
+
+    @Value("${football.api.key}")
+    private String apiKey;
+
+    @Value("${football.api.base-url:https://v3.football.api-sports.io}")
+    private String baseUrl;
+
+    public FootballApiClient(@Qualifier("footballRestTemplate") RestTemplate restTemplate,
+                             @Qualifier("footballPassthroughRestTemplate") RestTemplate passthroughRestTemplate,
+                             UpstreamRequestScheduler scheduler) {
+        this.restTemplate = restTemplate;
+        this.passthroughRestTemplate = passthroughRestTemplate;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * GETs the endpoint and returns the body; 4xx/5xx answers throw like RestTemplate does.
+     */
+    public String get(Lane lane, String endpoint, Map<String, ?> params) {
+        return exchange(lane, endpoint, params).getBody();
+    }
+
+    public ResponseEntity<String> exchange(Lane lane, String endpoint, Map<String, ?> params) {
+        scheduler.acquire(lane);
+        return restTemplate.exchange(uri(endpoint, params), HttpMethod.GET, new HttpEntity<>(headers()), String.class);
+    }
+
+    /**
+     * GETs the endpoint and hands the response body to the handler without buffering it.
+     */
+    public <T> T stream(Lane lane, String endpoint, Map<String, ?> params, BodyHandler<T> handler) {
+        scheduler.acquire(lane);
+        return restTemplate.execute(
+                uri(endpoint, params),
+                HttpMethod.GET,
+                request -> request.getHeaders().set(API_KEY_HEADER, apiKey),
+                response -> handler.handle(response.getBody())
+        );
+    }
+
+    /**
+     * GETs the endpoint and hands the raw upstream response to the extractor: any status,
+     * and the body still in the encoding the upstream chose. Gzip is only asked for when
+     * acceptGzip is set.
+     */
+    public <T> T passthrough(Lane lane, String endpoint, Map<String, ?> params, boolean acceptGzip,
+                             ResponseExtractor<T> extractor) {
+        scheduler.acquire(lane);
+        return passthroughRestTemplate.execute(
+                uri(endpoint, params),
+                HttpMethod.GET,
+                request -> {
+                    request.getHeaders().set(API_KEY_HEADER, apiKey);
+                    if (acceptGzip) {
+                        request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip");
+                    }
+                },
+                extractor
+        );
+    }
+
+    /**
+     * api-sports answers quota, plan and parameter problems with HTTP 200 and a non-empty
+     * top-level "errors" field ([] or {} when all is well). True for such bodies and for
+     * anything that is not a JSON object; only the top level is read, nested "errors" are ignored.
+     */
+    public static boolean isErrorBody(String body) {
+        if (body == null || body.isEmpty()) {
+            return true;
+        }
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return true;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("errors".equals(field)) {
+                    return switch (value) {
+                        case START_ARRAY -> parser.nextToken() != JsonToken.END_ARRAY;
+                        case START_OBJECT -> parser.nextToken() != JsonToken.END_OBJECT;
+                        case VALUE_NULL -> false;
+                        default -> true;
+                    };
+                }
+                parser.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    @FunctionalInterface
+    public interface BodyHandler<T> {
+        T handle(InputStream body) throws IOException;
+    }
+
+    private URI uri(String endpoint, Map<String, ?> params) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromHttpUrl(baseUrl).path("/" + endpoint);
+        params.forEach(builder::queryParam);
+        return builder.encode().build().toUri();
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(API_KEY_HEADER, apiKey);
+        return headers;
+    }
+}
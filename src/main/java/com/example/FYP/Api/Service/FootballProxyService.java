@@ -0,0 +1,229 @@
+package com.example.FYP.Api.Service;
+
+import com.example.FYP.Api.Service.UpstreamRequestScheduler.Lane;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResponseExtractor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Forwards proxied client requests to API-Football.
+ * Successful answers are cached per endpoint freshness window. Once an entry of one of the
+ * semi-static endpoints goes stale it is still served, for up to the max-stale period, while a
+ * single background call refreshes it; any other endpoint expires hard after the default TTL.
+ * Identical requests (same endpoint and parameters, in any order) that miss the cache while
+ * a call is already in flight wait for that call instead of making their own.
+ * Endpoints listed in football.proxy.stream-endpoints skip all of that and are piped
+ * straight through, see {@link #stream}.
+ */
+@Service
+@Slf4j
+public class FootballProxyService {
+
+    private static final Map<String, Duration> FRESHNESS_BY_ENDPOINT = Map.ofEntries(
+            Map.entry("leagues", Duration.ofHours(24)),
+            Map.entry("odds/bets", Duration.ofHours(24)),
+            Map.entry("players/seasons", Duration.ofHours(24)),
+            Map.entry("teams", Duration.ofHours(6)),
+            Map.entry("teams/statistics", Duration.ofHours(1)),
+            Map.entry("fixtures/headtohead", Duration.ofHours(1)),
+            Map.entry("fixtures/predictions", Duration.ofHours(1)),
+            Map.entry("players", Duration.ofHours(1)),
+            Map.entry("players/statistics", Duration.ofHours(1)),
+            Map.entry("injuries", Duration.ofMinutes(30)),
+            Map.entry("standings", Duration.ofMinutes(10)),
+            Map.entry("odds", Duration.ofMinutes(5))
+    );
+
+    private record CachedResponse(ResponseEntity<String> response, long fetchedAt, long freshForNanos, long staleForNanos) {
+        boolean isFresh() {
+            return System.nanoTime() - fetchedAt < freshForNanos;
+        }
+    }
+
+    private final FootballApiClient footballApiClient;
+    private final Duration defaultFreshness;
+    private final long maxStaleNanos;
+    private final Set<String> streamedEndpoints;
+    private final Map<String, CompletableFuture<ResponseEntity<String>>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Cache<String, CachedResponse> responses;
+    private final ExecutorService refreshExecutor;
+
+    private final Counter freshHits;
+    private final Counter staleHits;
+    private final Counter coalesced;
+    private final Counter upstreamCalls;
+    private final Counter failedRefreshes;
+    private final Counter streamed;
+
+    public FootballProxyService(FootballApiClient footballApiClient,
+                                MeterRegistry meterRegistry,
+                                @Value("${football.proxy.cache.ttl:10s}") Duration defaultFreshness,
+                                @Value("${football.proxy.cache.max-stale:10m}") Duration maxStale,
+                                @Value("${football.proxy.cache.max-entries:10000}") long maxEntries,
+                                @Value("${football.proxy.refresh-threads:4}") int refreshThreads,
+                                @Value("${football.proxy.stream-endpoints:odds,fixtures/players}") Set<String> streamedEndpoints) {
+        this.footballApiClient = footballApiClient;
+        this.defaultFreshness = defaultFreshness;
+        this.streamedEndpoints = Set.copyOf(streamedEndpoints);
+        this.maxStaleNanos = maxStale.toNanos();
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.freshForNanos() + value.staleForNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return value.freshForNanos() + value.staleForNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.refreshExecutor = Executors.newFixedThreadPool(refreshThreads, new CustomizableThreadFactory("football-proxy-refresh-"));
+        this.freshHits = counter(meterRegistry, "fresh_hit");
+        this.staleHits = counter(meterRegistry, "stale_hit");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.upstreamCalls = counter(meterRegistry, "upstream");
+        this.failedRefreshes = counter(meterRegistry, "refresh_failed");
+        this.streamed = counter(meterRegistry, "streamed");
+    }
+
+    public ResponseEntity<String> forward(String endpoint, Map<String, String> params) {
+        String key = endpoint + "?" + new TreeMap<>(params);
+
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            if (cached.isFresh()) {
+                freshHits.increment();
+            } else {
+                staleHits.increment();
+                refreshInBackground(key, endpoint, params);
+            }
+            return cached.response();
+        }
+
+        return load(key, endpoint, params);
+    }
+
+    /**
+     * Whether the endpoint's payloads are large enough that they are relayed with {@link #stream}
+     * instead of being buffered and cached.
+     */
+    public boolean isStreamed(String endpoint) {
+        return streamedEndpoints.contains(endpoint);
+    }
+
+    /**
+     * Calls the upstream and hands its raw response to the extractor, which is expected to copy
+     * the body to the client as it arrives. Nothing is buffered, cached or shared.
+     */
+    public <T> T stream(String endpoint, Map<String, String> params, boolean acceptGzip, ResponseExtractor<T> extractor) {
+        streamed.increment();
+        return footballApiClient.passthrough(Lane.USER, endpoint, params, acceptGzip, extractor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private void refreshInBackground(String key, String endpoint, Map<String, String> params) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(key, endpoint, params);
+                } catch (Exception e) {
+                    failedRefreshes.increment();
+                    log.debug("Background refresh of {} failed, keeping stale response: {}", key, e.getMessage());
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(key);
+        }
+    }
+
+    /**
+     * Calls the upstream once per key at a time; concurrent callers share the result.
+     */
+    private ResponseEntity<String> load(String key, String endpoint, Map<String, String> params) {
+        CompletableFuture<ResponseEntity<String>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<String>> leader = inFlight.putIfAbsent(key, call);
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        try {
+            upstreamCalls.increment();
+            ResponseEntity<String> response = footballApiClient.exchange(Lane.USER, endpoint, params);
+            // Quota, plan and parameter errors come back as 200 too; never keep those around.
+            if (response.getStatusCode().is2xxSuccessful() && !FootballApiClient.isErrorBody(response.getBody())) {
+                // Only the semi-static endpoints listed above may be served stale; live data such as
+                // fixtures or events expires hard after the short default TTL.
+                Duration freshness = FRESHNESS_BY_ENDPOINT.get(endpoint);
+                CachedResponse entry = freshness != null
+                        ? new CachedResponse(response, System.nanoTime(), freshness.toNanos(), maxStaleNanos)
+                        : new CachedResponse(response, System.nanoTime(), defaultFreshness.toNanos(), 0);
+                responses.put(key, entry);
+            }
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static ResponseEntity<String> await(CompletableFuture<ResponseEntity<String>> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            // Followers see the same failure the leader got from the upstream call.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("football.proxy.requests")
+                .description("Proxied Football-API requests by how they were served")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -1,18 +1,13 @@
 package com.example.FYP.Api.Service;
 
 import com.example.FYP.Api.Model.View.Player.PlayerDetailedStatsDTO;
+import com.example.FYP.Api.Service.UpstreamRequestScheduler.Lane;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.util.Map;
 
@@ -22,9 +17,7 @@ import java.util.Map;
 public class PlayerService {
 
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate = new RestTemplate();
-    @Value("${football.api.key}")
-    private String apiKey;
+    private final FootballApiClient footballApiClient;
 
 
     public PlayerDetailedStatsDTO getPlayerStats(Long playerId, int season) {
@@ -125,27 +118,7 @@ public class PlayerService {
     }
 
     private String fetchFromApi(String endpoint, Map<String, String> params) {
-        String baseUrl = "https://v3.football.api-sports.io/" + endpoint;
-        StringBuilder urlBuilder = new StringBuilder(baseUrl);
-        
-        if (!params.isEmpty()) {
-            urlBuilder.append("?");
-            params.forEach((key, value) -> urlBuilder.append(key).append("=").append(value).append("&"));
-            urlBuilder.setLength(urlBuilder.length() - 1); // Remove last &
-        }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("x-apisports-key", apiKey);
-        HttpEntity<String> entity = new HttpEntity<>(headers);
-
-        ResponseEntity<String> response = restTemplate.exchange(
-                urlBuilder.toString(),
-                HttpMethod.GET,
-                entity,
-                String.class
-        );
-
-        return response.getBody();
+        return footballApiClient.get(Lane.USER, endpoint, params);
     }
 
     private Integer safeInt(JsonNode node) {
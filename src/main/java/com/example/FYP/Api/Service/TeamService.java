@@ -7,21 +7,28 @@ import com.example.FYP.Api.Model.View.Team.*;
 import com.example.FYP.Api.Repository.FixtureRepository;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -34,12 +41,88 @@ public class TeamService {
     private final FootBallService footBallService;
     private final FixtureMapper fixtureMapper;
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate = new RestTemplate();
-    @Value("${football.api.key}")
-    private String apiKey;
+    private final FootballApiCache footballApiCache;
 
+    @Value("${team.page.deadline:8s}")
+    private Duration pageDeadline;
+
+    @Value("${team.page.threads:16}")
+    private int pageThreads;
+
+    @Value("${team.page.queue:200}")
+    private int pageQueueCapacity;
+
+    private ExecutorService teamPageExecutor;
+
+    /**
+     * Runs the independent upstream lookups of a team page side by side. Bounded so a burst
+     * of page views cannot spawn unbounded threads; when full, the caller runs the lookup itself.
+     * Owned here rather than exposed as a bean, so it never stands in for Boot's task executor.
+     */
+    @PostConstruct
+    void startExecutor() {
+        teamPageExecutor = new ThreadPoolExecutor(pageThreads, pageThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(pageQueueCapacity),
+                new CustomizableThreadFactory("team-page-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void stopExecutor() {
+        teamPageExecutor.shutdownNow();
+    }
+
+
+    /**
+     * Builds a whole team page with its upstream lookups running concurrently; the local
+     * last-match query runs on the calling thread meanwhile. Sections that fail or miss the
+     * page deadline are left empty and listed in missingSections.
+     */
+    public TeamPageDTO getTeamPage(Long teamId, Long leagueId, Integer season) {
+        long deadline = System.nanoTime() + pageDeadline.toNanos();
+
+        // The coach lookup is queued ahead of the header task that waits for it, so on the FIFO
+        // pool it is always already running or done when the header blocks on it.
+        CompletableFuture<CoachDTO> coach = fanOut(() -> footBallService.getCoachByTeamId(teamId));
+        CompletableFuture<TeamHeaderDTO> header = fanOut(() -> buildTeamHeader(teamId, coach, deadline));
+        CompletableFuture<TeamDetailsDTO> details = fanOut(() -> getTeamDetails(teamId));
+        CompletableFuture<List<SquadMemberDTO>> squad = fanOut(() -> getSquad(teamId));
+        CompletableFuture<List<TrophyDTO>> trophies = fanOut(() -> getTrophies(teamId));
+        CompletableFuture<TeamStatsDTO> statistics = leagueId != null
+                ? fanOut(() -> getTeamStatistics(teamId, leagueId, season))
+                : CompletableFuture.completedFuture(null);
+
+        FixtureViewDTO lastMatch = getLastMatch(teamId);
+
+        List<String> missing = new ArrayList<>();
+        TeamPageDTO page = TeamPageDTO.builder()
+                .header(await("header", header, deadline, missing))
+                .details(await("details", details, deadline, missing))
+                .lastMatch(lastMatch)
+                .squad(await("squad", squad, deadline, missing))
+                .trophies(await("trophies", trophies, deadline, missing))
+                .statistics(await("statistics", statistics, deadline, missing))
+                .build();
+        page.setMissingSections(missing);
+
+        if (!missing.isEmpty()) {
+            log.warn("Team page {} served without {}", teamId, missing);
+        }
+        return page;
+    }
 
     public TeamHeaderDTO getTeamHeader(Long teamId) {
+        // The coach lookup is independent of the team lookup, so start it first.
+        long deadline = System.nanoTime() + pageDeadline.toNanos();
+        CompletableFuture<CoachDTO> coachLookup = fanOut(() -> footBallService.getCoachByTeamId(teamId));
+        return buildTeamHeader(teamId, coachLookup, deadline);
+    }
+
+    /**
+     * Fetches the team and combines it with the coach lookup already under way, waiting for
+     * the coach no longer than the given deadline.
+     */
+    private TeamHeaderDTO buildTeamHeader(Long teamId, CompletableFuture<CoachDTO> coachLookup, long deadline) {
         try {
             String jsonResponse = fetchFromApi("teams", Map.of("id", teamId.toString()));
             JsonNode root = objectMapper.readTree(jsonResponse);
@@ -53,7 +136,7 @@ public class TeamService {
             JsonNode venue = response.get(0).path("venue");
             JsonNode coach = response.get(0).path("coach");
 
-            CoachDTO coachDTO = footBallService.getCoachByTeamId(teamId);
+            CoachDTO coachDTO = await("coach", coachLookup, deadline, new ArrayList<>());
             
             String coachName = coachDTO != null && coachDTO.getName() != null && !coachDTO.getName().isEmpty()
                     ? coachDTO.getName()
@@ -395,36 +478,31 @@ public class TeamService {
         }
     }
 
-    private String fetchFromApi(String endpoint, Map<String, String> params) {
-        String baseUrl = "https://v3.football.api-sports.io/" + endpoint;
-        StringBuilder urlBuilder = new StringBuilder(baseUrl);
-        
-        if (!params.isEmpty()) {
-            urlBuilder.append("?");
-            params.forEach((key, value) -> urlBuilder.append(key).append("=").append(value).append("&"));
-            urlBuilder.setLength(urlBuilder.length() - 1); // Remove last &
-        }
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("x-apisports-key", apiKey);
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+    private <T> CompletableFuture<T> fanOut(Supplier<T> lookup) {
+        return CompletableFuture.supplyAsync(lookup, teamPageExecutor);
+    }
 
+    private <T> T await(String section, CompletableFuture<T> lookup, long deadlineNanos, List<String> missing) {
         try {
-            log.debug("Calling API: {}", urlBuilder.toString());
-        ResponseEntity<String> response = restTemplate.exchange(
-                urlBuilder.toString(),
-                HttpMethod.GET,
-                entity,
-                String.class
-        );
-            
-            if (response.getStatusCode().isError()) {
-                log.error("API returned error status: {} - Body: {}", response.getStatusCode(), response.getBody());
-            }
+            return lookup.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            lookup.cancel(true);
+            log.debug("Team page section {} missed the deadline", section);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.debug("Team page section {} failed: {}", section, e.getCause().getMessage());
+        }
+        missing.add(section);
+        return null;
+    }
 
-        return response.getBody();
+    private String fetchFromApi(String endpoint, Map<String, String> params) {
+        try {
+            log.debug("Calling API: {} {}", endpoint, params);
+            return footballApiCache.get(endpoint, params);
         } catch (Exception e) {
-            log.error("Error calling API endpoint {}: {}", urlBuilder.toString(), e.getMessage(), e);
+            log.error("Error calling API endpoint {} {}: {}", endpoint, params, e.getMessage(), e);
             throw e;
         }
     }
@@ -0,0 +1,249 @@
+package com.example.FYP.Api.Service;
+
+import com.example.FYP.Api.Entity.BetStatus;
+import com.example.FYP.Api.Entity.TicketSettlement;
+import com.example.FYP.Api.Model.TicketLeg;
+import com.example.FYP.Api.Repository.BetRepository;
+import com.example.FYP.Api.Repository.TicketSettlementRepository;
+import com.example.FYP.Api.Repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns fully resolved tickets (every leg sharing a ticketId is no longer PENDING) into payouts.
+ * Each batch inserts the tickets' settlement rows and credits the users' points in one
+ * transaction; the settlement row's primary key guarantees a ticket is paid at most once.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TicketSettlementService {
+
+    private final BetRepository betRepository;
+    private final TicketSettlementRepository ticketSettlementRepository;
+    private final UserRepository userRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${bets.tickets.settlement.batch-size:500}")
+    private int batchSize;
+
+    @Value("${bets.tickets.settlement.sweep-lookback:2d}")
+    private Duration sweepLookback;
+
+    @Value("${bets.odds.max:100}")
+    private BigDecimal maxOdd;
+
+    private TransactionTemplate batchTransaction;
+    private Timer settlementLag;
+    private Counter settlementFailures;
+
+    @PostConstruct
+    void init() {
+        batchTransaction = new TransactionTemplate(transactionManager);
+        batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        settlementLag = Timer.builder("bets.tickets.settlement.lag")
+                .description("Time from a ticket's last leg resolving to its payout being credited")
+                .register(meterRegistry);
+        settlementFailures = Counter.builder("bets.tickets.settlement.failed")
+                .description("Tickets whose settlement failed on its own after its batch rolled back")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ticket status from its legs: any LOST leg loses the ticket, all VOID voids it, and
+     * otherwise it wins once every leg is WON or VOID; anything else is still PENDING.
+     */
+    public static BetStatus ticketStatus(Collection<BetStatus> legStatuses) {
+        if (legStatuses.contains(BetStatus.LOST)) {
+            return BetStatus.LOST;
+        }
+        if (legStatuses.isEmpty() || legStatuses.contains(BetStatus.PENDING) || legStatuses.contains(null)) {
+            return BetStatus.PENDING;
+        }
+        if (legStatuses.stream().allMatch(status -> status == BetStatus.VOID)) {
+            return BetStatus.VOID;
+        }
+        return BetStatus.WON;
+    }
+
+    /**
+     * Settles the tickets that the fixture's just-resolved legs completed.
+     */
+    public int settleTicketsForFixture(Long fixtureId) {
+        return settleAll(after -> betRepository.findSettleableTicketIdsForFixture(fixtureId, after, batchSize));
+    }
+
+    /**
+     * Catches tickets whose settlement was missed, e.g. when the app stopped between leg
+     * resolution and ticket settlement. Only legs resolved within the lookback are considered.
+     */
+    public int settleRecentlyResolvedTickets() {
+        LocalDateTime since = LocalDateTime.now().minus(sweepLookback);
+        return settleAll(after -> betRepository.findSettleableTicketIdsResolvedSince(since, after, batchSize));
+    }
+
+    /**
+     * Walks the settleable tickets in ticket_id order, one batch past the last id seen, so a
+     * batch that settles nothing or rolls back never makes the same page come round again.
+     */
+    private int settleAll(Function<String, List<String>> nextBatchAfter) {
+        int settled = 0;
+        String afterTicketId = "";
+        while (true) {
+            List<String> ticketIds = nextBatchAfter.apply(afterTicketId);
+            if (ticketIds.isEmpty()) {
+                return settled;
+            }
+            afterTicketId = ticketIds.get(ticketIds.size() - 1);
+
+            List<TicketSettlement> batch;
+            try {
+                batch = batchTransaction.execute(tx -> settleBatch(ticketIds));
+            } catch (Exception e) {
+                // Another settler may have got to some of these tickets first, or one of them cannot be
+                // settled at all; either way the rest of the batch must not wait on it.
+                log.warn("Ticket settlement batch of {} rolled back, settling one by one: {}", ticketIds.size(), e.getMessage());
+                batch = settleOneByOne(ticketIds);
+            }
+            if (batch == null || batch.isEmpty()) {
+                continue;
+            }
+
+            record(batch);
+            settled += batch.size();
+        }
+    }
+
+    private List<TicketSettlement> settleOneByOne(List<String> ticketIds) {
+        List<TicketSettlement> settled = new ArrayList<>();
+        for (String ticketId : ticketIds) {
+            try {
+                List<TicketSettlement> single = batchTransaction.execute(tx -> settleBatch(List.of(ticketId)));
+                if (single != null) {
+                    settled.addAll(single);
+                }
+            } catch (Exception e) {
+                settlementFailures.increment();
+                log.error("Ticket {} could not be settled: {}", ticketId, e.getMessage());
+            }
+        }
+        return settled;
+    }
+
+    private List<TicketSettlement> settleBatch(List<String> ticketIds) {
+        Map<String, List<TicketLeg>> legsByTicket = betRepository.findTicketLegs(ticketIds).stream()
+                .collect(Collectors.groupingBy(TicketLeg::ticketId, LinkedHashMap::new, Collectors.toList()));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TicketSettlement> settlements = new ArrayList<>();
+        for (List<TicketLeg> legs : legsByTicket.values()) {
+            TicketSettlement settlement = settle(legs, now);
+            if (settlement != null) {
+                settlements.add(settlement);
+            }
+        }
+        if (settlements.isEmpty()) {
+            return settlements;
+        }
+
+        ticketSettlementRepository.saveAll(settlements);
+        ticketSettlementRepository.flush();
+
+        Map<Long, Long> creditsByUser = settlements.stream()
+                .filter(settlement -> settlement.getPayout() > 0)
+                .collect(Collectors.groupingBy(TicketSettlement::getUserId, Collectors.summingLong(TicketSettlement::getPayout)));
+        creditsByUser.forEach(userRepository::addPoints);
+
+        return settlements;
+    }
+
+    private TicketSettlement settle(List<TicketLeg> legs, LocalDateTime now) {
+        List<BetStatus> statuses = legs.stream().map(TicketLeg::status).toList();
+        BetStatus status = ticketStatus(statuses);
+        TicketLeg first = legs.get(0);
+        if (status == BetStatus.PENDING || first.userId() == null) {
+            return null;
+        }
+
+        // A VOID leg stays on the ticket at odds 1.0, so it simply drops out of the product.
+        BigDecimal totalOdds = legs.stream()
+                .filter(leg -> leg.status() != BetStatus.VOID)
+                .map(leg -> settleableOdd(leg.odd()))
+                .reduce(BigDecimal.ONE, BigDecimal::multiply);
+        // The stake was taken as whole points when the ticket was placed; pay out from the same.
+        BigDecimal stake = first.stake() != null ? BigDecimal.valueOf(first.stake().longValue()) : BigDecimal.ZERO;
+
+        long payout = switch (status) {
+            case WON -> stake.multiply(totalOdds).setScale(0, RoundingMode.DOWN).longValueExact();
+            case VOID -> stake.longValueExact();
+            default -> 0L;
+        };
+
+        LocalDateTime lastLegResolvedAt = legs.stream()
+                .map(TicketLeg::resolvedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+
+        return TicketSettlement.builder()
+                .ticketId(first.ticketId())
+                .userId(first.userId())
+                .status(status)
+                .stake(first.stake())
+                .totalOdds(totalOdds)
+                .payout(payout)
+                .lastLegResolvedAt(lastLegResolvedAt)
+                .settledAt(now)
+                .build();
+    }
+
+    /**
+     * Odds are checked when a ticket is placed; legs placed before that check are held to the
+     * same range here, with anything missing or at most 1 priced at 1.0.
+     */
+    private BigDecimal settleableOdd(BigDecimal odd) {
+        if (odd == null || odd.compareTo(BigDecimal.ONE) <= 0) {
+            return BigDecimal.ONE;
+        }
+        return odd.min(maxOdd);
+    }
+
+    private void record(List<TicketSettlement> batch) {
+        Map<BetStatus, Long> byStatus = new LinkedHashMap<>();
+        for (TicketSettlement settlement : batch) {
+            byStatus.merge(settlement.getStatus(), 1L, Long::sum);
+            if (settlement.getLastLegResolvedAt() != null) {
+                settlementLag.record(Duration.between(settlement.getLastLegResolvedAt(), settlement.getSettledAt()));
+            }
+        }
+        byStatus.forEach((status, count) -> Counter.builder("bets.tickets.settled")
+                .description("Tickets settled, by outcome")
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .increment(count));
+        log.info("Settled {} tickets: {}", batch.size(), byStatus);
+    }
+}
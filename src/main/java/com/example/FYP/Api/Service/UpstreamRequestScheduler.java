@@ -0,0 +1,271 @@
+package com.example.FYP.Api.Service;
+
+import com.example.FYP.Api.Exception.ApiRequestException;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket shared by every API-Football call, with priority lanes.
+ * When tokens run short, waiting callers are served settlement first, then sync, then
+ * user-facing traffic. The daily quota reported by the upstream's rate-limit headers is
+ * tracked too: as it runs low, the user lane and then the sync lane are turned away so that
+ * what is left goes to bet settlement. A reading is only trusted for a short while and never
+ * past the upstream's daily reset, after which a single call is let through to re-read it.
+ */
+@Component
+@Slf4j
+public class UpstreamRequestScheduler {
+
+    public enum Lane {
+        SETTLEMENT(Duration.ofSeconds(60)),
+        SYNC(Duration.ofSeconds(30)),
+        USER(Duration.ofSeconds(5));
+
+        private final Duration maxWait;
+
+        Lane(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+
+    private record Waiter(Lane lane, long sequence, CompletableFuture<Void> granted) {}
+
+    /**
+     * Daily requests left as last reported by the upstream, and when.
+     */
+    private record QuotaReading(long remaining, Instant readAt) {}
+
+    private static final String DAILY_REMAINING_HEADER = "x-ratelimit-requests-remaining";
+    private static final String MINUTE_REMAINING_HEADER = "X-RateLimit-Remaining";
+    private static final Duration PROBE_TIMEOUT = Duration.ofMinutes(1);
+
+    private final Bucket bucket;
+    private final long syncReserve;
+    private final long userReserve;
+    private final MeterRegistry meterRegistry;
+
+    private final PriorityBlockingQueue<Waiter> waiters = new PriorityBlockingQueue<>(64,
+            Comparator.comparing(Waiter::lane).thenComparingLong(Waiter::sequence));
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Lane, AtomicInteger> queued = new EnumMap<>(Lane.class);
+    private final Map<Lane, Timer> waitTimers = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> rejections = new EnumMap<>(Lane.class);
+    private final AtomicReference<QuotaReading> dailyQuota = new AtomicReference<>();
+    private final Duration quotaReadingTtl;
+    private final AtomicReference<Instant> quotaProbeStartedAt = new AtomicReference<>();
+
+    private Thread dispatcher;
+
+    public UpstreamRequestScheduler(MeterRegistry meterRegistry,
+                                    @Value("${football.api.rate.per-minute:300}") long perMinute,
+                                    @Value("${football.api.rate.burst:30}") long burst,
+                                    @Value("${football.api.quota.sync-reserve:200}") long syncReserve,
+                                    @Value("${football.api.quota.user-reserve:1000}") long userReserve,
+                                    @Value("${football.api.quota.reading-ttl:10m}") Duration quotaReadingTtl) {
+        this.meterRegistry = meterRegistry;
+        this.bucket = Bucket.builder()
+                .addLimit(Bandwidth.classic(burst, Refill.greedy(perMinute, Duration.ofMinutes(1))))
+                .build();
+        this.syncReserve = syncReserve;
+        this.userReserve = userReserve;
+        this.quotaReadingTtl = quotaReadingTtl;
+    }
+
+    @PostConstruct
+    void start() {
+        for (Lane lane : Lane.values()) {
+            AtomicInteger depth = new AtomicInteger();
+            queued.put(lane, depth);
+            Gauge.builder("football.api.scheduler.queued", depth, AtomicInteger::get)
+                    .description("Upstream calls waiting for a token")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry);
+            waitTimers.put(lane, Timer.builder("football.api.scheduler.wait")
+                    .description("Time upstream calls waited for a token")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry));
+            rejections.put(lane, Counter.builder("football.api.scheduler.rejected")
+                    .description("Upstream calls turned away for lack of quota or tokens")
+                    .tag("lane", lane.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("football.api.quota.daily.remaining", this,
+                        scheduler -> {
+                            Long remaining = scheduler.trustedDailyRemaining();
+                            return remaining == null ? Double.NaN : remaining;
+                        })
+                .description("Daily requests left according to the upstream's rate-limit headers")
+                .register(meterRegistry);
+
+        dispatcher = new Thread(this::dispatch, "football-api-scheduler");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        dispatcher.interrupt();
+    }
+
+    /**
+     * Blocks until the lane may make one upstream call. Throws a 503 if the daily quota is
+     * reserved for higher lanes or no token frees up within the lane's wait limit.
+     */
+    public void acquire(Lane lane) {
+        checkQuota(lane);
+
+        long start = System.nanoTime();
+        if (waiters.isEmpty() && bucket.tryConsume(1)) {
+            waitTimers.get(lane).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        Waiter waiter = new Waiter(lane, sequence.incrementAndGet(), new CompletableFuture<>());
+        queued.get(lane).incrementAndGet();
+        waiters.add(waiter);
+        try {
+            waiter.granted().get(lane.maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (waiter.granted().cancel(false)) {
+                waiters.remove(waiter);
+                throw reject(lane, "no upstream capacity within " + lane.maxWait.toSeconds() + "s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            waiter.granted().cancel(false);
+            waiters.remove(waiter);
+            throw reject(lane, "interrupted while waiting for upstream capacity");
+        } catch (ExecutionException e) {
+            throw reject(lane, e.getMessage());
+        } finally {
+            queued.get(lane).decrementAndGet();
+            waitTimers.get(lane).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Aligns local state with the upstream's rate-limit headers.
+     */
+    public void onResponse(HttpHeaders headers) {
+        Long daily = parse(headers.getFirst(DAILY_REMAINING_HEADER));
+        if (daily != null) {
+            dailyQuota.set(new QuotaReading(daily, Instant.now()));
+            quotaProbeStartedAt.set(null);
+        }
+
+        // The upstream's per-minute window is the real limit: never hold more tokens than it allows.
+        Long minute = parse(headers.getFirst(MINUTE_REMAINING_HEADER));
+        if (minute != null) {
+            long excess = bucket.getAvailableTokens() - minute;
+            if (excess > 0) {
+                bucket.tryConsumeAsMuchAsPossible(excess);
+            }
+        }
+    }
+
+    private void dispatch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // Wait for demand, then for a token, then hand it to whoever has the highest priority now.
+                waiters.put(waiters.take());
+                bucket.asBlocking().consume(1);
+
+                Waiter next;
+                do {
+                    next = waiters.poll();
+                } while (next != null && !next.granted().complete(null));
+
+                if (next == null) {
+                    bucket.addTokens(1);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void checkQuota(Lane lane) {
+        QuotaReading reading = dailyQuota.get();
+        if (reading == null || !isReserved(lane, reading.remaining())) {
+            return;
+        }
+        if (isTrusted(reading, Instant.now())) {
+            throw reject(lane, "daily Football-API quota reserved for higher priority work (" + reading.remaining() + " left)");
+        }
+
+        // The low reading is out of date. Let a single call through as a probe; its response
+        // headers bring a fresh reading. A probe that never got an answer is replaced after a minute.
+        Instant now = Instant.now();
+        Instant probe = quotaProbeStartedAt.get();
+        boolean claimed = (probe == null || probe.plus(PROBE_TIMEOUT).isBefore(now))
+                && quotaProbeStartedAt.compareAndSet(probe, now);
+        if (!claimed) {
+            throw reject(lane, "daily Football-API quota being re-checked (" + reading.remaining() + " left at last reading)");
+        }
+    }
+
+    private boolean isReserved(Lane lane, long remaining) {
+        return (lane == Lane.USER && remaining < userReserve) || (lane == Lane.SYNC && remaining < syncReserve);
+    }
+
+    private Long trustedDailyRemaining() {
+        QuotaReading reading = dailyQuota.get();
+        return reading != null && isTrusted(reading, Instant.now()) ? reading.remaining() : null;
+    }
+
+    /**
+     * A reading is trusted until it outlives the TTL or the upstream's daily reset (midnight UTC)
+     * passes. Without this, lanes shut out by a low reading would stay shut: only their own
+     * calls could bring the news that the quota was reset.
+     */
+    private boolean isTrusted(QuotaReading reading, Instant now) {
+        boolean sameQuotaDay = LocalDate.ofInstant(reading.readAt(), ZoneOffset.UTC)
+                .equals(LocalDate.ofInstant(now, ZoneOffset.UTC));
+        return sameQuotaDay && !reading.readAt().plus(quotaReadingTtl).isBefore(now);
+    }
+
+    private ApiRequestException reject(Lane lane, String reason) {
+        rejections.get(lane).increment();
+        log.warn("Rejected {} upstream call: {}", lane, reason);
+        return new ApiRequestException(HttpStatus.SERVICE_UNAVAILABLE, "Football API unavailable: " + reason);
+    }
+
+    private static Long parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
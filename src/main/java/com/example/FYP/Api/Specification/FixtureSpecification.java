@@ -0,0 +1,69 @@
+package com.example.FYP.Api.Specification;
+
+import com.example.FYP.Api.Entity.Fixture;
+import com.example.FYP.Api.Entity.MatchSettings;
+import com.example.FYP.Api.Model.FixtureCursor;
+import com.example.FYP.Api.Model.Filter.FixtureFilterDTO;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filters for the keyset-paginated fixture query. Every predicate maps onto one of the
+ * indexed fixture columns; the settings tables are fetched in the same statement.
+ */
+public class FixtureSpecification {
+
+    public static Specification<Fixture> matching(FixtureFilterDTO filter, boolean visibleOnly, FixtureCursor after) {
+        return (root, query, cb) -> {
+            // Hibernate's fetches are joins too, so the visibility filter reuses the fetched settings join.
+            Join<Fixture, MatchSettings> settings = (Join<Fixture, MatchSettings>) root.<Fixture, MatchSettings>fetch("matchSettings", JoinType.LEFT);
+            root.fetch("matchPredictionSettings", JoinType.LEFT);
+
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isNotNull(root.get("kickoffAt")));
+
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("kickoffAt"),
+                        filter.getFrom().atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("kickoffAt"),
+                        filter.getTo().plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant()));
+            }
+            if (filter.getLeagueId() != null) {
+                predicates.add(cb.equal(root.get("leagueId"), filter.getLeagueId()));
+            }
+            if (filter.getTeamId() != null) {
+                predicates.add(cb.or(
+                        cb.equal(root.get("homeTeamId"), filter.getTeamId()),
+                        cb.equal(root.get("awayTeamId"), filter.getTeamId())
+                ));
+            }
+            if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+                predicates.add(root.get("statusShort").in(filter.getStatus()));
+            }
+
+            Boolean visible = visibleOnly ? Boolean.TRUE : filter.getVisible();
+            if (Boolean.TRUE.equals(visible)) {
+                predicates.add(cb.isTrue(settings.get("showMatch")));
+            } else if (Boolean.FALSE.equals(visible)) {
+                predicates.add(cb.or(cb.isNull(settings.get("showMatch")), cb.isFalse(settings.get("showMatch"))));
+            }
+
+            if (after != null) {
+                predicates.add(cb.or(
+                        cb.greaterThan(root.get("kickoffAt"), after.kickoffAt()),
+                        cb.and(cb.equal(root.get("kickoffAt"), after.kickoffAt()), cb.greaterThan(root.get("id"), after.id()))
+                ));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
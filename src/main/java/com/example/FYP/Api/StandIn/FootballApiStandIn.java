@@ -0,0 +1,228 @@
+package com.example.FYP.Api.StandIn;
+
+import com.example.FYP.Api.Service.FootballApiClient;
+import com.example.FYP.Api.Util.AcceptEncodingUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Embedded stand-in for API-Football, for load tests that must not spend the real quota.
+ * Point football.api.base-url at http://localhost:{football.standin.port} to use it.
+ * <p>
+ * Responses are replayed from {@code {dir}/{endpoint}/{canonical query}.json}, falling back to
+ * {@code {dir}/{endpoint}/_default.json} and then to an empty result. In record mode a missing
+ * recording is fetched once from the real API with the caller's key and saved for later replays.
+ * Every answer can be delayed and a share of them turned into errors.
+ */
+@Component
+@ConditionalOnProperty(name = "football.standin.enabled", havingValue = "true")
+@Slf4j
+public class FootballApiStandIn {
+
+    private static final String EMPTY_RESPONSE = "{\"errors\":[],\"results\":0,\"paging\":{\"current\":1,\"total\":1},\"response\":[]}";
+    private static final String ERROR_RESPONSE = "{\"errors\":{\"standin\":\"Injected failure\"},\"results\":0,\"response\":[]}";
+    private static final String NOT_FOUND_RESPONSE = "{\"errors\":{\"endpoint\":\"Unknown endpoint\"},\"results\":0,\"response\":[]}";
+    private static final String API_KEY_HEADER = "x-apisports-key";
+    // Endpoint paths are plain lower-case words, which also keeps them from leaving the recordings directory.
+    private static final Pattern ENDPOINT = Pattern.compile("[a-z]+(/[a-z]+)*");
+
+    @Value("${football.standin.port:8089}")
+    private int port;
+
+    @Value("${football.standin.dir:standin-recordings}")
+    private Path recordingsDir;
+
+    @Value("${football.standin.record:false}")
+    private boolean record;
+
+    @Value("${football.standin.record.upstream:https://v3.football.api-sports.io}")
+    private String upstreamBaseUrl;
+
+    @Value("${football.standin.latency:150ms}")
+    private Duration latency;
+
+    @Value("${football.standin.latency-jitter:100ms}")
+    private Duration latencyJitter;
+
+    @Value("${football.standin.error-rate:0.0}")
+    private double errorRate;
+
+    @Value("${football.standin.threads:32}")
+    private int threads;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private HttpClient upstream;
+
+    @PostConstruct
+    public void start() throws IOException {
+        executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("football-standin-"));
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        if (record) {
+            upstream = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        }
+        log.warn("API-Football stand-in listening on port {} ({} from {}, latency {}+{}, error rate {})",
+                port, record ? "recording" : "replaying", recordingsDir.toAbsolutePath(),
+                latency, latencyJitter, errorRate);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String endpoint = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "");
+            if (!ENDPOINT.matcher(endpoint).matches()) {
+                respond(exchange, 404, NOT_FOUND_RESPONSE);
+                return;
+            }
+            String query = canonicalQuery(exchange.getRequestURI().getRawQuery());
+
+            simulateLatency();
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                respond(exchange, 500, ERROR_RESPONSE);
+                return;
+            }
+
+            respond(exchange, 200, lookup(endpoint, query, exchange.getRequestHeaders().getFirst(API_KEY_HEADER)));
+        } catch (Exception e) {
+            log.debug("Stand-in failed to answer {}: {}", exchange.getRequestURI(), e.getMessage());
+            respond(exchange, 500, ERROR_RESPONSE);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String lookup(String endpoint, String query, String apiKey) throws IOException, InterruptedException {
+        Path endpointDir = recordingsDir.resolve(endpoint.replace('/', '_'));
+        Path recording = endpointDir.resolve(URLEncoder.encode(query.isEmpty() ? "_" : query, StandardCharsets.UTF_8) + ".json");
+
+        if (Files.exists(recording)) {
+            return Files.readString(recording);
+        }
+        if (record) {
+            String body = fetchUpstream(endpoint, query, apiKey);
+            if (FootballApiClient.isErrorBody(body)) {
+                // Quota and parameter errors arrive as 200; pass them on but never keep them as recordings.
+                log.warn("Not recording {}?{}: upstream answered with errors", endpoint, query);
+                return body;
+            }
+            Files.createDirectories(endpointDir);
+            Files.writeString(recording, body);
+            log.info("Recorded {}?{}", endpoint, query);
+            return body;
+        }
+        Path fallback = endpointDir.resolve("_default.json");
+        return Files.exists(fallback) ? Files.readString(fallback) : EMPTY_RESPONSE;
+    }
+
+    private String fetchUpstream(String endpoint, String query, String apiKey) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(upstreamBaseUrl + "/" + endpoint + (query.isEmpty() ? "" : "?" + query)))
+                .header(API_KEY_HEADER, apiKey != null ? apiKey : "")
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        HttpResponse<String> response = upstream.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Upstream answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        boolean gzip = AcceptEncodingUtils.acceptsGzip(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        // Generous quota headers keep the request scheduler from throttling the load test.
+        exchange.getResponseHeaders().set("x-ratelimit-requests-remaining", "1000000");
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", "100000");
+        if (gzip) {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(status, 0);
+            try (OutputStream out = new GZIPOutputStream(exchange.getResponseBody())) {
+                out.write(bytes);
+            }
+        } else {
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private void simulateLatency() throws InterruptedException {
+        long delay = latency.toMillis();
+        if (latencyJitter.toMillis() > 0) {
+            delay += ThreadLocalRandom.current().nextLong(latencyJitter.toMillis() + 1);
+        }
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+
+    /**
+     * Sorted, decoded query so the same request always maps to the same recording.
+     */
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        Map<String, String> params = new TreeMap<>();
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.put(name, value);
+        }
+        StringBuilder query = new StringBuilder();
+        params.forEach((name, value) -> {
+            if (query.length() > 0) {
+                query.append('&');
+            }
+            query.append(URLEncoder.encode(name, StandardCharsets.UTF_8))
+                    .append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        });
+        return query.toString();
+    }
+}